@@ -0,0 +1,101 @@
+package com.bfpc.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of JWT generation and verification, in tokens per second.
+ * The {@code legacy*} benchmarks reproduce the previous implementation, which decoded the secret
+ * and built a new parser on every call, so results can be compared side by side.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JwtServiceBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET_KEY = "bfpcSecretKey123456789012345678901234567890";
+    private static final long EXPIRATION = 86400000L;
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = createJwtService(new JwtClaimsCache(10_000, 300_000));
+        uncachedJwtService = createJwtService(new JwtClaimsCache(10_000, 0));
+        userDetails = User.withUsername("farmer@bfpc.ng")
+                .password("unused")
+                .authorities("ROLE_FARMER")
+                .build();
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return uncachedJwtService.extractVerifiedClaims(token);
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtService.extractVerifiedClaims(token);
+    }
+
+    @Benchmark
+    public String legacyGenerate() {
+        return Jwts
+                .builder()
+                .setClaims(new HashMap<>())
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .signWith(legacySignInKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims legacyVerify() {
+        return Jwts
+                .parserBuilder()
+                .setSigningKey(legacySignInKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static Key legacySignInKey() {
+        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
+        return Keys.hmacShaKeyFor(keyBytes);
+    }
+
+    private static JwtService createJwtService(JwtClaimsCache claimsCache) {
+        JwtService service = new JwtService(new JwtKeyRing(SECRET_KEY, "primary", ""), claimsCache);
+        ReflectionTestUtils.setField(service, "jwtExpiration", EXPIRATION);
+        ReflectionTestUtils.setField(service, "refreshExpiration", EXPIRATION * 7);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,127 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.entity.Farmer;
+import com.bfpc.domain.entity.PriceAlertRule;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Time to match one market price against 100,000 price alert rules, in microseconds.
+ * The {@code scan} benchmark tests every rule in turn, as a naive engine would, so results can be
+ * compared side by side.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=PriceAlertIndexBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceAlertIndexBenchmark {
+
+    private static final int MARKETS = 200;
+    private static final int LOCATIONS = 20;
+    private static final int[] WINDOWS = {1, 7, 30};
+    private static final int PRICES = 1024;
+
+    @Param("100000")
+    private int rules;
+
+    private PriceAlertIndex index;
+    private List<PriceAlertIndex.Rule> allRules;
+    private Price[] prices;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Farmer.CropType[] cropTypes = Farmer.CropType.values();
+        PriceAlertRule.AlertType[] alertTypes = PriceAlertRule.AlertType.values();
+
+        allRules = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            PriceAlertRule.AlertType alertType = alertTypes[random.nextInt(alertTypes.length)];
+            boolean change = alertType == PriceAlertRule.AlertType.CHANGE_ABOVE
+                    || alertType == PriceAlertRule.AlertType.CHANGE_BELOW;
+            int scope = random.nextInt(10);
+            allRules.add(new PriceAlertIndex.Rule(
+                    i,
+                    random.nextInt(50_000),
+                    cropTypes[random.nextInt(cropTypes.length)],
+                    scope < 5 ? (Long) (long) random.nextInt(MARKETS) : null,
+                    scope >= 5 && scope < 8 ? "location-" + random.nextInt(LOCATIONS) : null,
+                    alertType,
+                    change ? BigDecimal.valueOf(1 + random.nextInt(50)) : BigDecimal.valueOf(100 + random.nextInt(20_000)),
+                    change ? WINDOWS[random.nextInt(WINDOWS.length)] : 0
+            ));
+        }
+        index = new PriceAlertIndex();
+        index.replaceAll(allRules);
+
+        prices = new Price[PRICES];
+        for (int i = 0; i < PRICES; i++) {
+            long marketId = random.nextInt(MARKETS);
+            prices[i] = new Price(
+                    cropTypes[random.nextInt(cropTypes.length)],
+                    marketId,
+                    "location-" + marketId % LOCATIONS,
+                    BigDecimal.valueOf(100 + random.nextInt(20_000)),
+                    BigDecimal.valueOf(random.nextInt(80) - 40)
+            );
+        }
+    }
+
+    @Benchmark
+    public List<PriceAlertIndex.Rule> match() {
+        Price price = nextPrice();
+        return index.match(price.cropType(), price.marketId(), price.location(), price.price(), price.change());
+    }
+
+    @Benchmark
+    public List<PriceAlertIndex.Rule> scan() {
+        Price price = nextPrice();
+        List<PriceAlertIndex.Rule> matches = new ArrayList<>();
+        for (PriceAlertIndex.Rule rule : allRules) {
+            if (rule.cropType() != price.cropType()
+                    || (rule.marketId() != null && !rule.marketId().equals(price.marketId()))
+                    || (rule.location() != null && !rule.location().equals(price.location()))) {
+                continue;
+            }
+            BigDecimal change = price.change().apply(rule.windowDays());
+            boolean satisfied = switch (rule.alertType()) {
+                case PRICE_ABOVE -> price.price().compareTo(rule.threshold()) >= 0;
+                case PRICE_BELOW -> price.price().compareTo(rule.threshold()) <= 0;
+                case CHANGE_ABOVE -> change.compareTo(rule.threshold()) >= 0;
+                case CHANGE_BELOW -> change.compareTo(rule.threshold().negate()) <= 0;
+            };
+            if (satisfied) {
+                matches.add(rule);
+            }
+        }
+        return matches;
+    }
+
+    private Price nextPrice() {
+        Price price = prices[next];
+        next = (next + 1) % PRICES;
+        return price;
+    }
+
+    /**
+     * A market price with a fixed change over every window.
+     */
+    private record Price(Farmer.CropType cropType, long marketId, String location, BigDecimal price,
+                         BigDecimal changePercent) {
+
+        private IntFunction<BigDecimal> change() {
+            return windowDays -> changePercent;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.bfpc.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache configuration for the application.
+ * Caches are backed by Caffeine and record statistics, which the actuator publishes as
+ * {@code cache.*} metrics for every cache registered here.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
+    /**
+     * Configure the cache manager.
+     * The manager is transaction aware, so evictions issued inside a transaction are applied
+     * after commit and a concurrent load cannot put the old state back.
+     *
+     * @param userDetailsMaxSize the maximum number of cached user details
+     * @param userDetailsTtl the time to live of cached user details in milliseconds
+     * @return the CacheManager
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${bfpc.cache.user-details.max-size:10000}") long userDetailsMaxSize,
+            @Value("${bfpc.cache.user-details.ttl:600000}") long userDetailsTtl
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setTransactionAware(true);
+        cacheManager.registerCustomCache(USER_DETAILS_CACHE, Caffeine.newBuilder()
+                .maximumSize(userDetailsMaxSize)
+                .expireAfterWrite(Duration.ofMillis(userDetailsTtl))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,15 @@
+package com.bfpc.config;
+
+import com.bfpc.repository.KeysetRepositoryImpl;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * JPA repository configuration.
+ * All repositories use {@link KeysetRepositoryImpl} as base class, so any repository extending
+ * {@link com.bfpc.repository.KeysetRepository} supports keyset pagination.
+ */
+@Configuration
+@EnableJpaRepositories(basePackages = "com.bfpc", repositoryBaseClass = KeysetRepositoryImpl.class)
+public class JpaConfig {
+}
@@ -1,7 +1,9 @@
 package com.bfpc.config;
 
 import com.bfpc.security.JwtAuthenticationFilter;
+import com.bfpc.security.PasswordUpgradeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -36,6 +38,10 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final PasswordUpgradeService passwordUpgradeService;
+
+    @Value("${bfpc.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
 
     /**
      * Configure security filter chain.
@@ -50,10 +56,19 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
+                // Messages and the inbox act for the authenticated user; the rest of chat stays open
+                .requestMatchers(
+                    "/api/chat/messages",
+                    "/api/chat/messages/*",
+                    "/api/chat/messages/*/archive",
+                    "/api/chat/direct-chat",
+                    "/api/chat/conversations/**"
+                ).authenticated()
                 .requestMatchers(
                     "/api/auth/**",
                     "/api/public/**",
                     "/api/chat/**",
+                    "/api/ws/**",
                     "/api/events/**",
                     "/api/notifications/**",
                     "/v3/api-docs/**",
@@ -74,6 +89,7 @@ public class SecurityConfig {
 
     /**
      * Configure authentication provider.
+     * Passwords hashed with a lower strength than configured are re-hashed on successful login.
      *
      * @return the AuthenticationProvider
      */
@@ -82,6 +98,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(passwordUpgradeService);
         return authProvider;
     }
 
@@ -104,7 +121,7 @@ public class SecurityConfig {
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     /**
@@ -2,16 +2,22 @@ package com.bfpc.controller;
 
 import com.bfpc.dto.AuthenticationRequest;
 import com.bfpc.dto.AuthenticationResponse;
+import com.bfpc.dto.BulkRegistrationRequest;
+import com.bfpc.dto.BulkRegistrationResponse;
 import com.bfpc.dto.RegisterRequest;
 import com.bfpc.security.AuthenticationService;
+import com.bfpc.service.BulkRegistrationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controller for authentication operations.
  */
@@ -21,6 +27,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final AuthenticationService authenticationService;
+    private final BulkRegistrationService bulkRegistrationService;
 
     /**
      * Register a new user.
@@ -29,10 +36,24 @@ public class AuthController {
      * @return the authentication response with JWT tokens
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthenticationResponse> register(
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> register(
             @Valid @RequestBody RegisterRequest request
     ) {
-        return ResponseEntity.ok(authenticationService.register(request));
+        return authenticationService.register(request).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Register a batch of farmers.
+     *
+     * @param request the bulk registration request
+     * @return the per-row registration report
+     */
+    @PostMapping("/register/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EXTENSION_OFFICER')")
+    public CompletableFuture<ResponseEntity<BulkRegistrationResponse>> registerBulk(
+            @Valid @RequestBody BulkRegistrationRequest request
+    ) {
+        return bulkRegistrationService.registerFarmers(request).thenApply(ResponseEntity::ok);
     }
 
     /**
@@ -42,9 +63,9 @@ public class AuthController {
      * @return the authentication response with JWT tokens
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthenticationResponse> authenticate(
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> authenticate(
             @Valid @RequestBody AuthenticationRequest request
     ) {
-        return ResponseEntity.ok(authenticationService.authenticate(request));
+        return authenticationService.authenticate(request).thenApply(ResponseEntity::ok);
     }
 }
\ No newline at end of file
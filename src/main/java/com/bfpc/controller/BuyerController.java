@@ -1,11 +1,13 @@
 package com.bfpc.controller;
 
 import com.bfpc.dto.BuyerDto;
+import com.bfpc.repository.PageTotal;
 import com.bfpc.service.BuyerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -24,14 +26,19 @@ public class BuyerController {
 
     /**
      * Get all buyers with pagination.
+     * Pass {@code withTotal=false} to skip counting, or {@code withTotal=approximate} for an estimated total.
      *
      * @param pageable the pagination information
-     * @return a page of buyers
+     * @param withTotal whether to compute the total: true, false or approximate
+     * @return a page of buyers, or a slice without a total
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'FARMER')")
-    public ResponseEntity<Page<BuyerDto>> getAllBuyers(Pageable pageable) {
-        return ResponseEntity.ok(buyerService.getAllBuyers(pageable));
+    public ResponseEntity<Slice<BuyerDto>> getAllBuyers(
+            Pageable pageable,
+            @RequestParam(defaultValue = "true") String withTotal
+    ) {
+        return ResponseEntity.ok(buyerService.getAllBuyers(pageable, PageTotal.fromParameter(withTotal)));
     }
 
     /**
@@ -1,11 +1,22 @@
 package com.bfpc.controller;
 
+import com.bfpc.dto.ConversationDto;
 import com.bfpc.dto.MessageDto;
 import com.bfpc.dto.CommunityDto;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.security.CurrentUserResolver;
+import com.bfpc.service.ChatArchiveService;
 import com.bfpc.service.ChatService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,10 +27,12 @@ import java.util.List;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ChatArchiveService chatArchiveService;
+    private final CurrentUserResolver currentUserResolver;
 
     @GetMapping("/communities")
-    public ResponseEntity<List<CommunityDto>> getAllCommunities() {
-        return ResponseEntity.ok(chatService.getAllCommunities());
+    public ResponseEntity<List<CommunityDto>> getAllCommunities(@RequestParam(required = false) String userId) {
+        return ResponseEntity.ok(chatService.getAllCommunities(userId));
     }
 
     @GetMapping("/communities/{userId}")
@@ -40,17 +53,74 @@ public class ChatController {
     }
 
     @GetMapping("/messages/{chatId}")
-    public ResponseEntity<List<MessageDto>> getMessages(@PathVariable String chatId) {
-        return ResponseEntity.ok(chatService.getMessages(chatId));
+    public ResponseEntity<KeysetSlice<MessageDto>> getMessages(
+            @AuthenticationPrincipal UserDetails principal,
+            @PathVariable String chatId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(chatService.getMessages(chatId, currentUserId(principal), cursor, size));
+    }
+
+    @GetMapping(value = "/messages/{chatId}/archive", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> getArchivedMessages(
+            @AuthenticationPrincipal UserDetails principal,
+            @PathVariable String chatId
+    ) {
+        chatService.requireReadAccess(chatId, currentUserId(principal));
+        // Messages past the archive age, oldest first, one JSON object per line
+        return ResponseEntity.ok(out -> chatArchiveService.writeArchive(chatId, out));
     }
 
     @PostMapping("/messages")
-    public ResponseEntity<MessageDto> sendMessage(@RequestBody MessageDto messageDto) {
+    public ResponseEntity<MessageDto> sendMessage(
+            @AuthenticationPrincipal UserDetails principal,
+            @RequestBody MessageDto messageDto
+    ) {
+        messageDto.setSenderId(currentUserId(principal));
         return ResponseEntity.ok(chatService.sendMessage(messageDto));
     }
 
+    @MessageMapping("/chat/{chatId}")
+    public void publishMessage(
+            Authentication authentication,
+            @DestinationVariable String chatId,
+            @Payload MessageDto messageDto
+    ) {
+        // Sent over STOMP; the sender is the user of the session, whatever the payload says
+        messageDto.setChatId(chatId);
+        messageDto.setSenderId(currentUserId((UserDetails) authentication.getPrincipal()));
+        chatService.sendMessage(messageDto);
+    }
+
     @PostMapping("/direct-chat")
-    public ResponseEntity<String> startDirectChat(@RequestParam String userId, @RequestParam String participantId) {
-        return ResponseEntity.ok(chatService.startDirectChat(userId, participantId));
+    public ResponseEntity<String> startDirectChat(
+            @AuthenticationPrincipal UserDetails principal,
+            @RequestParam String participantId
+    ) {
+        return ResponseEntity.ok(chatService.startDirectChat(currentUserId(principal), participantId));
+    }
+
+    @GetMapping("/conversations")
+    public ResponseEntity<KeysetSlice<ConversationDto>> getConversations(
+            @AuthenticationPrincipal UserDetails principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(chatService.getConversations(currentUserId(principal), cursor, size));
+    }
+
+    @PostMapping("/conversations/{chatId}/read")
+    public ResponseEntity<Void> markConversationRead(
+            @AuthenticationPrincipal UserDetails principal,
+            @PathVariable String chatId
+    ) {
+        chatService.markConversationRead(chatId, currentUserId(principal));
+        return ResponseEntity.noContent().build();
+    }
+
+    private String currentUserId(UserDetails principal) {
+        // Chat user IDs are the string form of the user IDs
+        return String.valueOf(currentUserResolver.resolveId(principal));
     }
 }
\ No newline at end of file
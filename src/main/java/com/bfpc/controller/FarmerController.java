@@ -3,12 +3,15 @@ package com.bfpc.controller;
 import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.YieldData;
 import com.bfpc.dto.FarmerDto;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.repository.PageTotal;
 import com.bfpc.service.FarmerService;
 import com.bfpc.service.YieldDataService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -28,14 +31,36 @@ public class FarmerController {
 
     /**
      * Get all farmers with pagination.
+     * Pass {@code withTotal=false} to skip counting, or {@code withTotal=approximate} for an estimated total.
      *
      * @param pageable the pagination information
-     * @return a page of farmers
+     * @param withTotal whether to compute the total: true, false or approximate
+     * @return a page of farmers, or a slice without a total
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'BUYER')")
-    public ResponseEntity<Page<FarmerDto>> getAllFarmers(Pageable pageable) {
-        return ResponseEntity.ok(farmerService.getAllFarmers(pageable));
+    public ResponseEntity<Slice<FarmerDto>> getAllFarmers(
+            Pageable pageable,
+            @RequestParam(defaultValue = "true") String withTotal
+    ) {
+        return ResponseEntity.ok(farmerService.getAllFarmers(pageable, PageTotal.fromParameter(withTotal)));
+    }
+
+    /**
+     * Get all farmers with keyset pagination, in registration order.
+     * Opt in by passing {@code cursor}, empty for the first slice; no total count is computed.
+     *
+     * @param cursor the cursor of the previous slice
+     * @param size the slice size
+     * @return a slice of farmers
+     */
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'BUYER')")
+    public ResponseEntity<KeysetSlice<FarmerDto>> getAllFarmersSlice(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(farmerService.getAllFarmers(cursor, size));
     }
 
     /**
@@ -137,6 +162,25 @@ public class FarmerController {
         return ResponseEntity.ok(yieldDataService.getYieldDataByFarmerId(farmerId, pageable));
     }
 
+    /**
+     * Get yield data for a farmer with keyset pagination, latest harvest first.
+     * Opt in by passing {@code cursor}, empty for the first slice; no total count is computed.
+     *
+     * @param farmerId the farmer ID
+     * @param cursor the cursor of the previous slice
+     * @param size the slice size
+     * @return a slice of yield data
+     */
+    @GetMapping(value = "/{farmerId}/yields", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN') or @farmerService.isFarmerOwner(#farmerId, principal.username)")
+    public ResponseEntity<KeysetSlice<YieldData>> getFarmerYieldDataSlice(
+            @PathVariable Long farmerId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(yieldDataService.getYieldDataByFarmerId(farmerId, cursor, size));
+    }
+
     /**
      * Get farmers eligible for sponsorship.
      *
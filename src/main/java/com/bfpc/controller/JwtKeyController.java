@@ -0,0 +1,46 @@
+package com.bfpc.controller;
+
+import com.bfpc.dto.JwtKeyRotationRequest;
+import com.bfpc.security.JwtService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for JWT signing key administration.
+ */
+@RestController
+@RequestMapping("/api/admin/jwt-keys")
+@RequiredArgsConstructor
+public class JwtKeyController {
+
+    private final JwtService jwtService;
+
+    /**
+     * Rotate the JWT signing key.
+     *
+     * @param request the new key ID and secret
+     * @return no content
+     */
+    @PostMapping("/rotate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rotateSigningKey(@Valid @RequestBody JwtKeyRotationRequest request) {
+        jwtService.rotateSigningKey(request.getKeyId(), request.getSecretKey());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Retire a previous JWT signing key.
+     *
+     * @param keyId the key ID to retire
+     * @return no content
+     */
+    @DeleteMapping("/{keyId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> retireSigningKey(@PathVariable String keyId) {
+        jwtService.retireSigningKey(keyId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,17 +1,32 @@
 package com.bfpc.controller;
 
 import com.bfpc.dto.MarketPriceDto;
+import com.bfpc.dto.MarketPriceImportReport;
+import com.bfpc.dto.MarketPriceSummaryDto;
+import com.bfpc.dto.MarketPriceTrendDto;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.service.LatestPriceSnapshot;
+import com.bfpc.service.MarketPriceImportService;
+import com.bfpc.service.MarketPriceStream;
 import com.bfpc.service.MarketPriceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for market price operations.
@@ -22,6 +37,9 @@ import java.time.LocalDate;
 public class MarketPriceController {
 
     private final MarketPriceService marketPriceService;
+    private final MarketPriceImportService marketPriceImportService;
+    private final LatestPriceSnapshot latestPriceSnapshot;
+    private final MarketPriceStream marketPriceStream;
 
     /**
      * Get all market prices with pagination.
@@ -34,6 +52,70 @@ public class MarketPriceController {
         return ResponseEntity.ok(marketPriceService.getAllMarketPrices(pageable));
     }
 
+    /**
+     * Get all market prices with keyset pagination, newest first.
+     * Opt in by passing {@code cursor}, empty for the first slice; no total count is computed.
+     *
+     * @param cursor the cursor of the previous slice
+     * @param size the slice size
+     * @return a slice of market prices
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<KeysetSlice<MarketPriceDto>> getAllMarketPricesSlice(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(marketPriceService.getAllMarketPrices(cursor, size));
+    }
+
+    /**
+     * Get the latest market price per crop type and market, from memory.
+     * Responds with 304 Not Modified when the client's ETag matches the current snapshot.
+     *
+     * @param cropType the crop type (optional)
+     * @param marketId the market ID (optional, requires a crop type)
+     * @param request the web request
+     * @return the latest market prices
+     */
+    @GetMapping("/latest")
+    public ResponseEntity<List<MarketPriceDto>> getLatestMarketPrices(
+            @RequestParam(required = false) String cropType,
+            @RequestParam(required = false) Long marketId,
+            WebRequest request
+    ) {
+        LatestPriceSnapshot.Snapshot snapshot = latestPriceSnapshot.current();
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        List<MarketPriceDto> prices;
+        if (cropType == null) {
+            prices = snapshot.all();
+        } else if (marketId == null) {
+            prices = snapshot.byCropType().getOrDefault(cropType.toUpperCase(), List.of());
+        } else {
+            MarketPriceDto price = snapshot.byCropTypeAndMarket()
+                    .getOrDefault(cropType.toUpperCase(), Map.of())
+                    .get(marketId);
+            prices = price != null ? List.of(price) : List.of();
+        }
+        return ResponseEntity.ok().eTag(snapshot.etag()).body(prices);
+    }
+
+    /**
+     * Stream created and updated market prices as Server-Sent Events named {@code price}.
+     *
+     * @param cropType the crop type (optional)
+     * @param location the location (optional)
+     * @return the event stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMarketPrices(
+            @RequestParam(required = false) String cropType,
+            @RequestParam(required = false) String location
+    ) {
+        return marketPriceStream.subscribe(cropType, location);
+    }
+
     /**
      * Get a market price by ID.
      *
@@ -59,6 +141,24 @@ public class MarketPriceController {
         return ResponseEntity.ok(marketPriceService.createMarketPrice(marketPriceDto));
     }
 
+    /**
+     * Import market prices from a CSV file.
+     * The upload is spooled to disk by the servlet container and streamed from there.
+     *
+     * @param file the CSV file
+     * @return the import report
+     * @throws IOException if the file cannot be read
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MarketPriceImportReport> importMarketPrices(
+            @RequestParam("file") MultipartFile file
+    ) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return ResponseEntity.ok(marketPriceImportService.importCsv(csv));
+        }
+    }
+
     /**
      * Update a market price.
      *
@@ -136,17 +236,49 @@ public class MarketPriceController {
     }
 
     /**
-     * Get market price trends.
+     * Get weekly market price trends.
      *
      * @param cropType the crop type
+     * @param marketId the market ID
      * @param months the number of months to analyze
+     * @param points the maximum number of points per series
      * @return the market price trends
      */
     @GetMapping("/trends")
-    public ResponseEntity<Object> getMarketPriceTrends(
+    public ResponseEntity<List<MarketPriceTrendDto>> getMarketPriceTrends(
             @RequestParam(required = false) String cropType,
-            @RequestParam(defaultValue = "6") Integer months
+            @RequestParam(required = false) Long marketId,
+            @RequestParam(defaultValue = "6") Integer months,
+            @RequestParam(required = false) Integer points
     ) {
-        return ResponseEntity.ok(marketPriceService.getMarketPriceTrends(cropType, months));
+        return ResponseEntity.ok(marketPriceService.getMarketPriceTrends(cropType, marketId, months, points));
+    }
+
+    /**
+     * Get price summaries per crop type and market.
+     *
+     * @param cropType the crop type
+     * @param startDate the start date
+     * @param endDate the end date
+     * @return the market price summaries
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<List<MarketPriceSummaryDto>> getMarketPriceSummaries(
+            @RequestParam(required = false) String cropType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return ResponseEntity.ok(marketPriceService.getMarketPriceSummaries(cropType, startDate, endDate));
+    }
+
+    /**
+     * Rebuild the daily market price rollup from the raw prices.
+     *
+     * @return the number of rollup rows
+     */
+    @PostMapping("/rollup/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildRollup() {
+        return ResponseEntity.ok(Map.of("rows", marketPriceService.rebuildRollup()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.bfpc.controller;
+
+import com.bfpc.dto.PriceAlertRuleDto;
+import com.bfpc.security.CurrentUserResolver;
+import com.bfpc.service.PriceAlertRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for the authenticated user's market price alerts.
+ */
+@RestController
+@RequestMapping("/api/price-alerts")
+@RequiredArgsConstructor
+public class PriceAlertController {
+
+    private final PriceAlertRuleService priceAlertRuleService;
+    private final CurrentUserResolver currentUserResolver;
+
+    /**
+     * Get the user's price alerts.
+     *
+     * @param principal the authenticated user
+     * @return the price alerts
+     */
+    @GetMapping
+    public ResponseEntity<List<PriceAlertRuleDto>> getPriceAlerts(@AuthenticationPrincipal UserDetails principal) {
+        return ResponseEntity.ok(priceAlertRuleService.getRules(currentUserResolver.resolveId(principal)));
+    }
+
+    /**
+     * Get one of the user's price alerts.
+     *
+     * @param principal the authenticated user
+     * @param id the price alert ID
+     * @return the price alert
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<PriceAlertRuleDto> getPriceAlert(
+            @AuthenticationPrincipal UserDetails principal,
+            @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(priceAlertRuleService.getRule(currentUserResolver.resolveId(principal), id));
+    }
+
+    /**
+     * Create a price alert.
+     *
+     * @param principal the authenticated user
+     * @param ruleDto the price alert to create
+     * @return the created price alert
+     */
+    @PostMapping
+    public ResponseEntity<PriceAlertRuleDto> createPriceAlert(
+            @AuthenticationPrincipal UserDetails principal,
+            @Valid @RequestBody PriceAlertRuleDto ruleDto
+    ) {
+        return ResponseEntity.ok(priceAlertRuleService.createRule(currentUserResolver.resolveId(principal), ruleDto));
+    }
+
+    /**
+     * Update a price alert.
+     *
+     * @param principal the authenticated user
+     * @param id the price alert ID
+     * @param ruleDto the updated price alert
+     * @return the updated price alert
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<PriceAlertRuleDto> updatePriceAlert(
+            @AuthenticationPrincipal UserDetails principal,
+            @PathVariable Long id,
+            @Valid @RequestBody PriceAlertRuleDto ruleDto
+    ) {
+        return ResponseEntity.ok(priceAlertRuleService.updateRule(currentUserResolver.resolveId(principal), id, ruleDto));
+    }
+
+    /**
+     * Delete a price alert.
+     *
+     * @param principal the authenticated user
+     * @param id the price alert ID
+     * @return no content
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletePriceAlert(
+            @AuthenticationPrincipal UserDetails principal,
+            @PathVariable Long id
+    ) {
+        priceAlertRuleService.deleteRule(currentUserResolver.resolveId(principal), id);
+        return ResponseEntity.noContent().build();
+    }
+}
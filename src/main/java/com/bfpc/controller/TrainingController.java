@@ -1,12 +1,16 @@
 package com.bfpc.controller;
 
 import com.bfpc.dto.TrainingDto;
+import com.bfpc.dto.TrainingRegistrationDto;
 import com.bfpc.dto.UserDto;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.repository.PageTotal;
 import com.bfpc.service.TrainingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,13 +30,34 @@ public class TrainingController {
 
     /**
      * Get all trainings with pagination.
+     * Pass {@code withTotal=false} to skip counting, or {@code withTotal=approximate} for an estimated total.
      *
      * @param pageable the pagination information
-     * @return a page of trainings
+     * @param withTotal whether to compute the total: true, false or approximate
+     * @return a page of trainings, or a slice without a total
      */
     @GetMapping
-    public ResponseEntity<Page<TrainingDto>> getAllTrainings(Pageable pageable) {
-        return ResponseEntity.ok(trainingService.getAllTrainings(pageable));
+    public ResponseEntity<Slice<TrainingDto>> getAllTrainings(
+            Pageable pageable,
+            @RequestParam(defaultValue = "true") String withTotal
+    ) {
+        return ResponseEntity.ok(trainingService.getAllTrainings(pageable, PageTotal.fromParameter(withTotal)));
+    }
+
+    /**
+     * Get all trainings with keyset pagination, latest start first.
+     * Opt in by passing {@code cursor}, empty for the first slice; no total count is computed.
+     *
+     * @param cursor the cursor of the previous slice
+     * @param size the slice size
+     * @return a slice of trainings
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<KeysetSlice<TrainingDto>> getAllTrainingsSlice(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(trainingService.getAllTrainings(cursor, size));
     }
 
     /**
@@ -138,18 +163,35 @@ public class TrainingController {
 
     /**
      * Register a farmer for a training.
+     * The request joins the waitlist and is seated in the background; poll its status or await the notification.
      *
      * @param trainingId the training ID
      * @param farmerId the farmer ID
-     * @return the updated training
+     * @return the waiting request
      */
     @PostMapping("/{trainingId}/register")
     @PreAuthorize("hasAnyRole('ADMIN', 'FARMER')")
-    public ResponseEntity<TrainingDto> registerForTraining(
+    public ResponseEntity<TrainingRegistrationDto> registerForTraining(
             @PathVariable Long trainingId,
             @RequestBody Long farmerId
     ) {
-        return ResponseEntity.ok(trainingService.registerForTraining(trainingId, farmerId));
+        return ResponseEntity.accepted().body(trainingService.requestRegistration(trainingId, farmerId));
+    }
+
+    /**
+     * Get the status of a registration request.
+     *
+     * @param trainingId the training ID
+     * @param requestId the request ID
+     * @return the request
+     */
+    @GetMapping("/{trainingId}/registrations/{requestId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FARMER')")
+    public ResponseEntity<TrainingRegistrationDto> getRegistrationRequest(
+            @PathVariable Long trainingId,
+            @PathVariable Long requestId
+    ) {
+        return ResponseEntity.ok(trainingService.getRegistrationRequest(trainingId, requestId));
     }
 
     /**
@@ -157,11 +199,11 @@ public class TrainingController {
      *
      * @param trainingId the training ID
      * @param farmerId the farmer ID
-     * @return the updated training
+     * @return the cancelled registration
      */
     @DeleteMapping("/{trainingId}/register/{farmerId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'FARMER')")
-    public ResponseEntity<TrainingDto> cancelTrainingRegistration(
+    public ResponseEntity<TrainingRegistrationDto> cancelTrainingRegistration(
             @PathVariable Long trainingId,
             @PathVariable Long farmerId
     ) {
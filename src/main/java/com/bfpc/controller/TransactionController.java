@@ -1,11 +1,14 @@
 package com.bfpc.controller;
 
 import com.bfpc.dto.TransactionDto;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.repository.PageTotal;
 import com.bfpc.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,14 +29,36 @@ public class TransactionController {
 
     /**
      * Get all transactions with pagination.
+     * Pass {@code withTotal=false} to skip counting, or {@code withTotal=approximate} for an estimated total.
      *
      * @param pageable the pagination information
-     * @return a page of transactions
+     * @param withTotal whether to compute the total: true, false or approximate
+     * @return a page of transactions, or a slice without a total
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Page<TransactionDto>> getAllTransactions(Pageable pageable) {
-        return ResponseEntity.ok(transactionService.getAllTransactions(pageable));
+    public ResponseEntity<Slice<TransactionDto>> getAllTransactions(
+            Pageable pageable,
+            @RequestParam(defaultValue = "true") String withTotal
+    ) {
+        return ResponseEntity.ok(transactionService.getAllTransactions(pageable, PageTotal.fromParameter(withTotal)));
+    }
+
+    /**
+     * Get all transactions with keyset pagination, newest first.
+     * Opt in by passing {@code cursor}, empty for the first slice; no total count is computed.
+     *
+     * @param cursor the cursor of the previous slice
+     * @param size the slice size
+     * @return a slice of transactions
+     */
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KeysetSlice<TransactionDto>> getAllTransactionsSlice(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(transactionService.getAllTransactions(cursor, size));
     }
 
     /**
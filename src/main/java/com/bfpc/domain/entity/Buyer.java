@@ -26,7 +26,8 @@ import java.util.Set;
 public class Buyer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "buyers_seq")
+    @SequenceGenerator(name = "buyers_seq", sequenceName = "buyers_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,62 @@
+package com.bfpc.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing a message sent to a community or direct chat.
+ * The ID is assigned by the application, so new messages are inserted without a prior lookup.
+ */
+@Entity
+@Table(name = "chat_messages")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessage implements Persistable<UUID> {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String chatId;
+
+    @Column(nullable = false)
+    private String senderId;
+
+    @Column(nullable = true)
+    private String senderName;
+
+    @Column(nullable = true)
+    private String senderAvatar;
+
+    @Column(nullable = false, length = 4000)
+    private String content;
+
+    @Column(nullable = false)
+    private String type; // e.g., "text", "image", "file"
+
+    @Column(nullable = false)
+    private LocalDateTime sentAt;
+
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
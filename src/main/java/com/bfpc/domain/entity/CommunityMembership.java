@@ -0,0 +1,35 @@
+package com.bfpc.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a user's membership of a chat community.
+ */
+@Entity
+@Table(name = "community_memberships")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommunityMembership {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "community_memberships_seq")
+    @SequenceGenerator(name = "community_memberships_seq", sequenceName = "community_memberships_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String communityId;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private LocalDateTime joinedAt;
+}
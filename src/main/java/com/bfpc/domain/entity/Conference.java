@@ -27,7 +27,8 @@ import java.util.Set;
 public class Conference {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conferences_seq")
+    @SequenceGenerator(name = "conferences_seq", sequenceName = "conferences_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
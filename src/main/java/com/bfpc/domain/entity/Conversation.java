@@ -0,0 +1,45 @@
+package com.bfpc.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a registered conversation.
+ * Direct conversations have an ID derived from their two participants, so the same pair always
+ * gets the same conversation.
+ */
+@Entity
+@Table(name = "conversations")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Conversation {
+
+    /**
+     * The prefix of the IDs of direct conversations.
+     */
+    public static final String DIRECT_ID_PREFIX = "direct-";
+
+    @Id
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Enum representing the types of conversations.
+     */
+    public enum Type {
+        DIRECT
+    }
+}
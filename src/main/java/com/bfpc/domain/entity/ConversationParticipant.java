@@ -0,0 +1,46 @@
+package com.bfpc.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a user's entry in their conversation index.
+ * Holds the time of the conversation's last message and the user's unread count, updated as messages are written.
+ */
+@Entity
+@Table(name = "conversation_participants")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationParticipant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conversation_participants_seq")
+    @SequenceGenerator(name = "conversation_participants_seq", sequenceName = "conversation_participants_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String conversationId;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private String peerId; // The other participant of the direct conversation
+
+    @Column(nullable = false)
+    private LocalDateTime lastMessageAt; // The creation time until the first message
+
+    @Column(nullable = false)
+    private int unreadCount;
+
+    @Column(nullable = true)
+    private LocalDateTime lastReadAt;
+}
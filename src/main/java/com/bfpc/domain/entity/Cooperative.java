@@ -26,7 +26,8 @@ import java.util.Set;
 public class Cooperative {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cooperatives_seq")
+    @SequenceGenerator(name = "cooperatives_seq", sequenceName = "cooperatives_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
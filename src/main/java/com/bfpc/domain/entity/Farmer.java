@@ -27,7 +27,8 @@ import java.util.Set;
 public class Farmer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "farmers_seq")
+    @SequenceGenerator(name = "farmers_seq", sequenceName = "farmers_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
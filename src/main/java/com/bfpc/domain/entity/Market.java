@@ -24,7 +24,8 @@ import java.time.LocalDateTime;
 public class Market {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "markets_seq")
+    @SequenceGenerator(name = "markets_seq", sequenceName = "markets_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -26,7 +26,8 @@ import java.time.LocalDateTime;
 public class MarketPrice {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "market_prices_seq")
+    @SequenceGenerator(name = "market_prices_seq", sequenceName = "market_prices_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -43,6 +44,9 @@ public class MarketPrice {
     @Column(nullable = false)
     private BigDecimal price;
 
+    @Column(nullable = false)
+    private String location; // Normalized by LocationNormalizer, defaults to the market's location
+
     @Column(nullable = false)
     private LocalDate priceDate;
 
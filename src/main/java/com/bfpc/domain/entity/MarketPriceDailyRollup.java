@@ -0,0 +1,65 @@
+package com.bfpc.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing the daily aggregate of market prices for a crop type in a market.
+ * Rows are maintained incrementally with native upserts as prices are written, so trend and summary
+ * queries scan one row per day instead of every raw price.
+ */
+@Entity
+@Table(
+    name = "market_price_daily_rollup",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"crop_type", "market_id", "price_date"})
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketPriceDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "market_price_daily_rollup_seq")
+    @SequenceGenerator(name = "market_price_daily_rollup_seq", sequenceName = "market_price_daily_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Farmer.CropType cropType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "market_id", nullable = false)
+    private Market market;
+
+    @Column(nullable = false)
+    private LocalDate priceDate;
+
+    @Column(nullable = false)
+    private Long sampleCount;
+
+    @Column(nullable = false)
+    private BigDecimal priceSum;
+
+    @Column(nullable = false)
+    private BigDecimal minPrice;
+
+    @Column(nullable = false)
+    private BigDecimal maxPrice;
+
+    @Column(nullable = false)
+    private BigDecimal lastPrice;
+
+    @Column(nullable = false)
+    private Long lastPriceId; // ID of the market price that set lastPrice; later IDs win
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
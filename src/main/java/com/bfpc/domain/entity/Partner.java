@@ -24,7 +24,8 @@ import java.time.LocalDateTime;
 public class Partner {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "partners_seq")
+    @SequenceGenerator(name = "partners_seq", sequenceName = "partners_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
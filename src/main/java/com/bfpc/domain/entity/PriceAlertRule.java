@@ -0,0 +1,79 @@
+package com.bfpc.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a user's market price alert.
+ * A rule watches one crop type, either in one market, in one location or everywhere, and fires when
+ * the price or its change over a window of days crosses the threshold.
+ */
+@Entity
+@Table(name = "price_alert_rules")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class PriceAlertRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "price_alert_rules_seq")
+    @SequenceGenerator(name = "price_alert_rules_seq", sequenceName = "price_alert_rules_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Farmer.CropType cropType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "market_id", nullable = true)
+    private Market market; // Null to watch a location or all markets
+
+    @Column(nullable = true)
+    private String location; // Used when no market is set; null watches all locations
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AlertType alertType;
+
+    @Column(nullable = false)
+    private BigDecimal threshold; // A price, or a percentage for change alerts
+
+    @Column(nullable = true)
+    private Integer windowDays; // Required for change alerts
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Enum representing the conditions an alert can watch.
+     */
+    public enum AlertType {
+        PRICE_ABOVE,  // price is at or above the threshold
+        PRICE_BELOW,  // price is at or below the threshold
+        CHANGE_ABOVE, // price rose by at least threshold percent over the window
+        CHANGE_BELOW  // price fell by at least threshold percent over the window
+    }
+}
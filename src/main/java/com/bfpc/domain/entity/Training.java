@@ -26,7 +26,8 @@ import java.util.Set;
 public class Training {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trainings_seq")
+    @SequenceGenerator(name = "trainings_seq", sequenceName = "trainings_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -62,6 +63,10 @@ public class Training {
     @Column(nullable = true)
     private Integer capacity;
 
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Integer registeredCount = 0; // Only changed by the seat reservation queries
+
     @Column(nullable = false)
     private Boolean isActive;
 
@@ -0,0 +1,64 @@
+package com.bfpc.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a farmer's request for a seat in a training.
+ * Requests are accepted immediately as waiting and seated in arrival order by the background allocator.
+ * IDs are allocated one at a time, so they give the arrival order across instances; pooled blocks of IDs
+ * would rank requests by instance instead.
+ */
+@Entity
+@Table(name = "training_registration_requests")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class TrainingRegistrationRequest {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_registration_requests_seq")
+    @SequenceGenerator(name = "training_registration_requests_seq",
+            sequenceName = "training_registration_requests_seq", allocationSize = 1)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "training_id", nullable = false)
+    private Training training;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "farmer_id", nullable = false)
+    private Farmer farmer;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Enum representing the states of a registration request.
+     */
+    public enum Status {
+        WAITING,    // on the waitlist
+        REGISTERED, // seated
+        REJECTED,   // the farmer was already registered
+        CANCELLED   // withdrawn while waiting
+    }
+}
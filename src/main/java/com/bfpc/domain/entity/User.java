@@ -27,7 +27,8 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -82,6 +83,9 @@ public class User {
     @Column(nullable = true)
     private String preferredLanguage;
 
+    @Column(nullable = true)
+    private LocalDateTime tokensRevokedAt; // Tokens issued before this time are rejected
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -26,7 +26,8 @@ import java.time.LocalDateTime;
 public class YieldData {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "yield_data_seq")
+    @SequenceGenerator(name = "yield_data_seq", sequenceName = "yield_data_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,7 +3,9 @@ package com.bfpc.domain.repository;
 import com.bfpc.domain.entity.Buyer;
 import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.bfpc.repository.KeysetRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -14,7 +16,7 @@ import java.util.Optional;
  * Repository interface for Buyer entity operations.
  */
 @Repository
-public interface BuyerRepository extends JpaRepository<Buyer, Long> {
+public interface BuyerRepository extends KeysetRepository<Buyer, Long> {
 
     /**
      * Find a buyer by associated user.
@@ -41,6 +43,15 @@ public interface BuyerRepository extends JpaRepository<Buyer, Long> {
      */
     List<Buyer> findByVerified(Boolean verified);
 
+    /**
+     * Find a page of buyers by verification status.
+     *
+     * @param verified the verification status to search for
+     * @param pageable the pagination information
+     * @return a page of buyers with the specified verification status
+     */
+    Page<Buyer> findByVerified(Boolean verified, Pageable pageable);
+
     /**
      * Find buyers by crop interest.
      *
@@ -50,21 +61,32 @@ public interface BuyerRepository extends JpaRepository<Buyer, Long> {
     @Query("SELECT b FROM Buyer b JOIN b.cropInterests ci WHERE ci = :cropType")
     List<Buyer> findByCropInterest(Farmer.CropType cropType);
 
+    /**
+     * Find a page of buyers by crop interest.
+     *
+     * @param cropType the crop type to search for
+     * @param pageable the pagination information
+     * @return a page of buyers interested in the specified crop type
+     */
+    @Query(value = "SELECT b FROM Buyer b JOIN b.cropInterests ci WHERE ci = :cropType",
+            countQuery = "SELECT COUNT(b) FROM Buyer b JOIN b.cropInterests ci WHERE ci = :cropType")
+    Page<Buyer> findByCropInterest(Farmer.CropType cropType, Pageable pageable);
+
     /**
      * Find top buyers by number of successful transactions.
      *
-     * @param limit the maximum number of buyers to return
+     * @param pageable the page of top buyers, usually the first page with the number of buyers to return
      * @return a list of top buyers by number of successful transactions
      */
     @Query("SELECT b FROM Buyer b WHERE b.successfulTransactions IS NOT NULL ORDER BY b.successfulTransactions DESC")
-    List<Buyer> findTopBuyersByTransactions(int limit);
+    List<Buyer> findTopBuyersByTransactions(Pageable pageable);
 
     /**
      * Find top buyers by average rating.
      *
-     * @param limit the maximum number of buyers to return
+     * @param pageable the page of top buyers, usually the first page with the number of buyers to return
      * @return a list of top buyers by average rating
      */
     @Query("SELECT b FROM Buyer b WHERE b.averageRating IS NOT NULL ORDER BY b.averageRating DESC")
-    List<Buyer> findTopBuyersByRating(int limit);
+    List<Buyer> findTopBuyersByRating(Pageable pageable);
 }
\ No newline at end of file
@@ -2,7 +2,10 @@ package com.bfpc.domain.repository;
 
 import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.bfpc.repository.KeysetRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -13,7 +16,7 @@ import java.util.Optional;
  * Repository interface for Farmer entity operations.
  */
 @Repository
-public interface FarmerRepository extends JpaRepository<Farmer, Long> {
+public interface FarmerRepository extends KeysetRepository<Farmer, Long> {
 
     /**
      * Find a farmer by associated user.
@@ -41,6 +44,16 @@ public interface FarmerRepository extends JpaRepository<Farmer, Long> {
     @Query("SELECT f FROM Farmer f WHERE f.user.localGovernmentArea = :lga")
     List<Farmer> findByLocalGovernmentArea(String lga);
 
+    /**
+     * Find a page of farmers by local government area, ignoring case.
+     *
+     * @param lga the local government area to search for
+     * @param pageable the pagination information
+     * @return a page of farmers in the specified local government area
+     */
+    @Query("SELECT f FROM Farmer f WHERE LOWER(f.user.localGovernmentArea) = LOWER(:lga)")
+    Page<Farmer> findByLocalGovernmentArea(String lga, Pageable pageable);
+
     /**
      * Find farmers by crop type.
      *
@@ -50,6 +63,17 @@ public interface FarmerRepository extends JpaRepository<Farmer, Long> {
     @Query("SELECT f FROM Farmer f JOIN f.cropTypes ct WHERE ct = :cropType")
     List<Farmer> findByCropType(Farmer.CropType cropType);
 
+    /**
+     * Find a page of farmers by crop type.
+     *
+     * @param cropType the crop type to search for
+     * @param pageable the pagination information
+     * @return a page of farmers growing the specified crop type
+     */
+    @Query(value = "SELECT f FROM Farmer f JOIN f.cropTypes ct WHERE ct = :cropType",
+            countQuery = "SELECT COUNT(f) FROM Farmer f JOIN f.cropTypes ct WHERE ct = :cropType")
+    Page<Farmer> findByCropType(Farmer.CropType cropType, Pageable pageable);
+
     /**
      * Find farmers eligible for sponsorship.
      *
@@ -57,12 +81,42 @@ public interface FarmerRepository extends JpaRepository<Farmer, Long> {
      */
     List<Farmer> findByEligibleForSponsorshipTrue();
 
+    /**
+     * Find a page of farmers eligible for sponsorship.
+     *
+     * @param pageable the pagination information
+     * @return a page of farmers eligible for sponsorship
+     */
+    Page<Farmer> findByEligibleForSponsorshipTrue(Pageable pageable);
+
     /**
      * Find top farmers by average yield per hectare.
      *
-     * @param limit the maximum number of farmers to return
+     * @param pageable the page of top farmers, usually the first page with the number of farmers to return
      * @return a list of top farmers by average yield per hectare
      */
     @Query("SELECT f FROM Farmer f WHERE f.averageYieldPerHectare IS NOT NULL ORDER BY f.averageYieldPerHectare DESC")
-    List<Farmer> findTopFarmersByYield(int limit);
+    List<Farmer> findTopFarmersByYield(Pageable pageable);
+
+    /**
+     * Increment the number of training sessions attended by a farmer.
+     *
+     * @param farmerId the farmer ID
+     * @return the number of updated farmers, 0 if the farmer does not exist
+     */
+    @Modifying
+    @Query("UPDATE Farmer f SET f.trainingSessionsAttended = COALESCE(f.trainingSessionsAttended, 0) + 1 "
+            + "WHERE f.id = :farmerId")
+    int incrementTrainingSessionsAttended(Long farmerId);
+
+    /**
+     * Decrement the number of training sessions attended by a farmer, without going below zero.
+     *
+     * @param farmerId the farmer ID
+     * @return the number of updated farmers
+     */
+    @Modifying
+    @Query("UPDATE Farmer f SET f.trainingSessionsAttended = f.trainingSessionsAttended - 1 "
+            + "WHERE f.id = :farmerId AND f.trainingSessionsAttended > 0")
+    int decrementTrainingSessionsAttended(Long farmerId);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.bfpc.domain.repository;
+
+import com.bfpc.domain.entity.Role;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for Role entity operations.
+ */
+@Repository
+public interface RoleRepository extends JpaRepository<Role, Long> {
+
+    /**
+     * Find a role by name.
+     *
+     * @param name the role name to search for
+     * @return an Optional containing the role if found
+     */
+    Optional<Role> findByName(Role.RoleName name);
+}
@@ -1,10 +1,16 @@
 package com.bfpc.domain.repository;
 
 import com.bfpc.domain.entity.User;
+import com.bfpc.security.TokenRevocationState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for User entity operations.
@@ -43,4 +49,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user exists with the phone number, false otherwise
      */
     boolean existsByPhoneNumber(String phoneNumber);
+
+    /**
+     * Find which of the given emails are already in use.
+     *
+     * @param emails the emails to check
+     * @return the emails already in use
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Find which of the given phone numbers are already in use.
+     *
+     * @param phoneNumbers the phone numbers to check
+     * @return the phone numbers already in use
+     */
+    @Query("SELECT u.phoneNumber FROM User u WHERE u.phoneNumber IN :phoneNumbers")
+    Set<String> findExistingPhoneNumbers(Collection<String> phoneNumbers);
+
+    /**
+     * Find the token revocation state of a user without loading the user and its roles.
+     *
+     * @param userId the user ID
+     * @return an Optional containing the revocation state if the user exists
+     */
+    @Query("SELECT new com.bfpc.security.TokenRevocationState(u.tokensRevokedAt, u.enabled, u.accountNonLocked) " +
+            "FROM User u WHERE u.id = :userId")
+    Optional<TokenRevocationState> findTokenRevocationStateById(Long userId);
+
+    /**
+     * Revoke all tokens issued to a user before the given time.
+     *
+     * @param userId the user ID
+     * @param revokedAt the revocation time
+     * @return the number of updated users
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tokensRevokedAt = :revokedAt WHERE u.id = :userId")
+    int revokeTokens(Long userId, LocalDateTime revokedAt);
 }
\ No newline at end of file
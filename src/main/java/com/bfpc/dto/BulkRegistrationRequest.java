@@ -0,0 +1,27 @@
+package com.bfpc.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for bulk farmer registration requests.
+ * Rows are validated individually, so one invalid row does not reject the whole batch.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationRequest {
+
+    public static final int MAX_ROWS = 1000;
+
+    @NotEmpty(message = "At least one farmer is required")
+    @Size(max = MAX_ROWS, message = "At most " + MAX_ROWS + " farmers can be registered at once")
+    private List<FarmerRegistrationRequest> farmers;
+}
@@ -0,0 +1,56 @@
+package com.bfpc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object reporting the outcome of a bulk registration, row by row.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationResponse {
+
+    private int total;
+
+    private int created;
+
+    private int rejected;
+
+    private List<RowResult> results;
+
+    /**
+     * Outcome of a single row, in request order.
+     */
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowResult {
+
+        private int row;
+
+        private String email;
+
+        private Status status;
+
+        private Long userId;
+
+        private Long farmerId;
+
+        private List<String> errors;
+    }
+
+    /**
+     * Enum representing the outcome of a row.
+     */
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+}
@@ -0,0 +1,17 @@
+package com.bfpc.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationDto {
+    private String chatId;
+    private String participantId;
+    private LocalDateTime lastMessageAt;
+    private Integer unreadCount;
+}
@@ -0,0 +1,68 @@
+package com.bfpc.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Data Transfer Object for a single farmer in a bulk registration request.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FarmerRegistrationRequest {
+
+    @NotBlank(message = "First name is required")
+    @Size(min = 2, max = 50, message = "First name must be between 2 and 50 characters")
+    private String firstName;
+
+    @NotBlank(message = "Last name is required")
+    @Size(min = 2, max = 50, message = "Last name must be between 2 and 50 characters")
+    private String lastName;
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    @NotBlank(message = "Password is required")
+    @Size(min = 8, message = "Password must be at least 8 characters long")
+    private String password;
+
+    @NotBlank(message = "Phone number is required")
+    @Pattern(regexp = "^\\+?[0-9]{10,15}$", message = "Phone number should be valid")
+    private String phoneNumber;
+
+    private String address;
+
+    private String localGovernmentArea;
+
+    private String preferredLanguage;
+
+    @Min(value = 0, message = "Farm size must be positive")
+    private Double farmSizeInHectares;
+
+    @Size(max = 100, message = "Farm location must not exceed 100 characters")
+    private String farmLocation;
+
+    private String farmGpsCoordinates;
+
+    private Set<String> cropTypes;
+
+    private String soilType;
+
+    @Min(value = 0, message = "Years of experience must be positive")
+    private Integer yearsOfExperience;
+
+    private Boolean hasIrrigation;
+
+    private String primaryMarket;
+}
@@ -0,0 +1,23 @@
+package com.bfpc.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for JWT signing key rotation requests.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JwtKeyRotationRequest {
+
+    @NotBlank(message = "Key ID is required")
+    private String keyId;
+
+    @NotBlank(message = "Secret key is required")
+    private String secretKey;
+}
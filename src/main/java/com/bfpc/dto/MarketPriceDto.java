@@ -37,7 +37,7 @@ public class MarketPriceDto {
     @Positive(message = "Price must be positive")
     private BigDecimal price;
 
-    private String location;
+    private String location; // Normalized on save, defaults to the market's location
 
     @NotNull(message = "Price date is required")
     @JsonFormat(pattern = "yyyy-MM-dd")
@@ -0,0 +1,40 @@
+package com.bfpc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO reporting the outcome of a market price CSV import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketPriceImportReport {
+
+    private long totalRows;
+
+    private long importedRows;
+
+    private long rejectedRows;
+
+    private List<RejectedRow> rejected; // capped, see rejectedRows for the full count
+
+    /**
+     * A row that could not be imported.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RejectedRow {
+
+        private long lineNumber;
+
+        private String reason;
+    }
+}
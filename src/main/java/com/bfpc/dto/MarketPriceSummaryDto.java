@@ -0,0 +1,39 @@
+package com.bfpc.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO summarizing the prices of a crop type in a market over a date range.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketPriceSummaryDto {
+
+    private String cropType;
+
+    private Long marketId;
+
+    private String marketName;
+
+    private long sampleCount;
+
+    private BigDecimal avgPrice;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private BigDecimal lastPrice;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate lastPriceDate;
+}
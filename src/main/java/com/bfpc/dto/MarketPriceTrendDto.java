@@ -0,0 +1,31 @@
+package com.bfpc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the price trend of a crop type in a market.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketPriceTrendDto {
+
+    private String cropType;
+
+    private Long marketId;
+
+    private String marketName;
+
+    private String trend; // up, down, stable
+
+    private BigDecimal percentageChange; // between the first and the last point
+
+    private List<MarketPriceTrendPointDto> points;
+}
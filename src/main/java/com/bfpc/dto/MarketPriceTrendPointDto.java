@@ -0,0 +1,35 @@
+package com.bfpc.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for one point of a market price trend series, covering one or more weeks.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketPriceTrendPointDto {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate periodStart;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private BigDecimal avgPrice;
+
+    private BigDecimal lastPrice;
+
+    private BigDecimal percentageChange; // against the previous point
+
+    private long sampleCount;
+}
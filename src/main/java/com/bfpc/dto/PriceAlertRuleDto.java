@@ -0,0 +1,45 @@
+package com.bfpc.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for price alert rule data.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAlertRuleDto {
+
+    private Long id;
+
+    private Long userId;
+
+    @NotBlank(message = "Crop type is required")
+    private String cropType;
+
+    private Long marketId; // Takes precedence over location
+
+    private String marketName;
+
+    private String location;
+
+    @NotBlank(message = "Alert type is required")
+    private String alertType; // PRICE_ABOVE, PRICE_BELOW, CHANGE_ABOVE, CHANGE_BELOW
+
+    @NotNull(message = "Threshold is required")
+    @Positive(message = "Threshold must be positive")
+    private BigDecimal threshold;
+
+    private Integer windowDays; // Required for CHANGE_ABOVE and CHANGE_BELOW
+
+    private Boolean active;
+}
@@ -53,6 +53,8 @@ public class TrainingDto {
 
     @Positive(message = "Capacity must be positive")
     private Integer capacity;
+
+    private Integer registeredCount;
     
     private Boolean isActive;
 
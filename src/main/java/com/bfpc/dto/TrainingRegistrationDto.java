@@ -0,0 +1,30 @@
+package com.bfpc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of a training registration or cancellation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingRegistrationDto {
+
+    private Long requestId;
+
+    private Long trainingId;
+
+    private Long farmerId;
+
+    private Integer registeredCount;
+
+    private Integer capacity;
+
+    private String status;
+
+    private Long waitlistPosition; // Only while waiting, 1 for the next request to be seated
+}
@@ -0,0 +1,30 @@
+package com.bfpc.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request conflicts with the current state of a resource.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new conflict exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new conflict exception with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the cause
+     */
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,55 @@
+package com.bfpc.repository;
+
+import com.bfpc.domain.entity.ChatMessage;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for chat message operations.
+ * Messages of a chat are read newest first with keyset pagination on the sending time.
+ */
+@Repository
+public interface ChatMessageRepository extends KeysetRepository<ChatMessage, UUID> {
+
+    /**
+     * Find the chats with messages sent before a time.
+     *
+     * @param cutoff the time
+     * @return the chat IDs
+     */
+    @Query(value = "SELECT DISTINCT chat_id FROM chat_messages WHERE sent_at < :cutoff", nativeQuery = true)
+    List<String> findChatIdsWithMessagesBefore(LocalDateTime cutoff);
+
+    /**
+     * Find the oldest messages of a chat sent before a time, oldest first.
+     *
+     * @param chatId the chat ID
+     * @param cutoff the time
+     * @param limit the maximum number of messages
+     * @return the messages
+     */
+    @Query(value = """
+            SELECT * FROM chat_messages
+            WHERE chat_id = :chatId AND sent_at < :cutoff
+            ORDER BY sent_at, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ChatMessage> findOldestBefore(String chatId, LocalDateTime cutoff, int limit);
+
+    /**
+     * Delete messages of a chat.
+     *
+     * @param chatId the chat ID, which selects the partition
+     * @param ids the message IDs
+     * @return the number of deleted messages
+     */
+    @Modifying
+    @Query("DELETE FROM ChatMessage m WHERE m.chatId = :chatId AND m.id IN :ids")
+    int deleteByChatIdAndIdIn(String chatId, Collection<UUID> ids);
+}
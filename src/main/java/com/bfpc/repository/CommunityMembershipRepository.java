@@ -0,0 +1,43 @@
+package com.bfpc.repository;
+
+import com.bfpc.domain.entity.CommunityMembership;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for community membership operations.
+ */
+@Repository
+public interface CommunityMembershipRepository extends JpaRepository<CommunityMembership, Long> {
+
+    /**
+     * Add a user to a community, unless already a member.
+     *
+     * @param communityId the community ID
+     * @param userId the user ID
+     * @param joinedAt the join time
+     * @return the number of inserted memberships, 0 if the user was already a member
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO community_memberships (id, community_id, user_id, joined_at)
+            VALUES (nextval('community_memberships_seq'), :communityId, :userId, :joinedAt)
+            ON CONFLICT (community_id, user_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(String communityId, String userId, LocalDateTime joinedAt);
+
+    /**
+     * Remove a user from a community.
+     *
+     * @param communityId the community ID
+     * @param userId the user ID
+     * @return the number of deleted memberships, 0 if the user was not a member
+     */
+    @Modifying
+    @Query("DELETE FROM CommunityMembership m WHERE m.communityId = :communityId AND m.userId = :userId")
+    int deleteByCommunityIdAndUserId(String communityId, String userId);
+}
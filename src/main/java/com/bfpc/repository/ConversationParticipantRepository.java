@@ -0,0 +1,77 @@
+package com.bfpc.repository;
+
+import com.bfpc.domain.entity.ConversationParticipant;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for conversation index operations.
+ * A user's conversations are read most recent first with keyset pagination on the last message time.
+ */
+@Repository
+public interface ConversationParticipantRepository extends KeysetRepository<ConversationParticipant, Long> {
+
+    /**
+     * Check whether a user is a participant of a conversation.
+     *
+     * @param conversationId the conversation ID
+     * @param userId the user ID
+     * @return true if the user is a participant
+     */
+    boolean existsByConversationIdAndUserId(String conversationId, String userId);
+
+    /**
+     * Add a user to the index of a conversation, unless already present.
+     *
+     * @param conversationId the conversation ID
+     * @param userId the user ID
+     * @param peerId the other participant
+     * @param createdAt the creation time of the conversation
+     * @return the number of inserted entries, 0 if already present
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO conversation_participants
+                (id, conversation_id, user_id, peer_id, last_message_at, unread_count)
+            VALUES (nextval('conversation_participants_seq'), :conversationId, :userId, :peerId, :createdAt, 0)
+            ON CONFLICT (conversation_id, user_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(String conversationId, String userId, String peerId, LocalDateTime createdAt);
+
+    /**
+     * Record messages of a sender in a conversation: moves the conversation up in the participants' indexes
+     * and adds the messages to the unread counts of everyone but the sender.
+     *
+     * @param conversationId the conversation ID
+     * @param senderId the sender ID
+     * @param count the number of messages
+     * @param lastSentAt the sending time of the last message
+     * @return the number of updated entries
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE conversation_participants
+            SET last_message_at = GREATEST(last_message_at, :lastSentAt),
+                unread_count = unread_count + CASE WHEN user_id = :senderId THEN 0 ELSE :count END
+            WHERE conversation_id = :conversationId
+            """, nativeQuery = true)
+    int recordMessages(String conversationId, String senderId, int count, LocalDateTime lastSentAt);
+
+    /**
+     * Mark a conversation as read by a user.
+     *
+     * @param conversationId the conversation ID
+     * @param userId the user ID
+     * @param readAt the read time
+     * @return the number of updated entries, 0 if the user is not a participant
+     */
+    @Modifying
+    @Query("""
+            UPDATE ConversationParticipant p SET p.unreadCount = 0, p.lastReadAt = :readAt
+            WHERE p.conversationId = :conversationId AND p.userId = :userId
+            """)
+    int markRead(String conversationId, String userId, LocalDateTime readAt);
+}
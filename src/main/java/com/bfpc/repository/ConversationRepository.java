@@ -0,0 +1,32 @@
+package com.bfpc.repository;
+
+import com.bfpc.domain.entity.Conversation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for conversation operations.
+ */
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, String> {
+
+    /**
+     * Register a conversation, unless already registered.
+     *
+     * @param id the conversation ID
+     * @param type the conversation type
+     * @param createdAt the creation time
+     * @return the number of inserted conversations, 0 if already registered
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO conversations (id, type, created_at)
+            VALUES (:id, :type, :createdAt)
+            ON CONFLICT (id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(String id, String type, LocalDateTime createdAt);
+}
@@ -0,0 +1,88 @@
+package com.bfpc.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a row in a keyset ordering, encoded as an opaque URL-safe cursor.
+ * The cursor carries the sort property and direction it was issued for, so it cannot be replayed
+ * against a different ordering.
+ *
+ * @param key the sort key of the row
+ * @param id the ID of the row
+ */
+record KeysetCursor(Object key, Object id) {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Encode the position of a row.
+     *
+     * @param order the ordering
+     * @param key the sort key of the row
+     * @param id the ID of the row
+     * @return the cursor
+     */
+    static String encode(Sort.Order order, Object key, Object id) {
+        String payload = String.join(SEPARATOR, order.getProperty(), order.getDirection().name(),
+                String.valueOf(id), String.valueOf(key));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor.
+     *
+     * @param cursor the cursor
+     * @param order the ordering the cursor must have been issued for
+     * @param keyType the type of the sort key
+     * @param idType the type of the ID
+     * @return the position
+     * @throws IllegalArgumentException if the cursor is invalid or was issued for another ordering
+     */
+    static KeysetCursor decode(String cursor, Sort.Order order, Class<?> keyType, Class<?> idType) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, 4);
+            if (parts.length != 4 || !parts[0].equals(order.getProperty())
+                    || !parts[1].equals(order.getDirection().name())) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new KeysetCursor(parse(parts[3], keyType), parse(parts[2], idType));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64, number and enum parse errors are IllegalArgumentExceptions too
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parse(String value, Class<?> type) {
+        if (type == String.class) {
+            return value;
+        } else if (type == Long.class || type == long.class) {
+            return Long.valueOf(value);
+        } else if (type == Integer.class || type == int.class) {
+            return Integer.valueOf(value);
+        } else if (type == BigDecimal.class) {
+            return new BigDecimal(value);
+        } else if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        } else if (type == Instant.class) {
+            return Instant.parse(value);
+        } else if (type == UUID.class) {
+            return UUID.fromString(value);
+        } else if (type.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) type, value);
+        }
+        throw new IllegalStateException("Unsupported keyset type: " + type.getName());
+    }
+}
@@ -0,0 +1,65 @@
+package com.bfpc.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Repository with pagination that avoids count queries.
+ * With keyset (seek) pagination a slice continues strictly after the sort key and ID of the previous slice's
+ * last row, carried in an opaque cursor, so every slice is an indexed range scan without OFFSET and without
+ * a count query. Offset pages can skip the count or estimate it from table statistics instead.
+ * Every repository gets the implementation from {@link KeysetRepositoryImpl}, the repository base class.
+ *
+ * @param <T> the entity type
+ * @param <ID> the ID type
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T, ID> extends JpaRepository<T, ID> {
+
+    /**
+     * The largest number of rows a slice may hold.
+     */
+    int MAX_SLICE_SIZE = 1000;
+
+    /**
+     * Find the slice of entities after a cursor, ordered by a non-null property and then by ID in the
+     * same direction.
+     *
+     * @param spec the filter, or null for all entities
+     * @param order the sort property and direction
+     * @param cursor the cursor returned with the previous slice, or null or empty for the first slice
+     * @param size the maximum number of entities
+     * @return the slice
+     * @throws IllegalArgumentException if the cursor is invalid or was issued for another order
+     */
+    KeysetSlice<T> findSlice(Specification<T> spec, Sort.Order order, String cursor, int size);
+
+    /**
+     * Encode the cursor continuing after a row, for slices assembled outside the database, e.g. from a cache.
+     *
+     * @param order the sort property and direction
+     * @param key the sort key of the row
+     * @param id the ID of the row
+     * @return the cursor
+     */
+    static String cursorAfter(Sort.Order order, Object key, Object id) {
+        return KeysetCursor.encode(order, key, id);
+    }
+
+    /**
+     * Find a page of entities, computing the total as requested.
+     * Without a total the result is a {@link org.springframework.data.domain.Slice} fetched with one extra
+     * row to tell whether a next page exists. Approximate totals only apply without a filter, since table
+     * statistics cannot estimate a filtered count; filtered pages are counted exactly instead.
+     *
+     * @param spec the filter, or null for all entities
+     * @param pageable the pagination information
+     * @param total how to compute the total
+     * @return a page if a total was computed, otherwise a slice
+     */
+    Slice<T> findAll(Specification<T> spec, Pageable pageable, PageTotal total);
+}
@@ -0,0 +1,160 @@
+package com.bfpc.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository base class adding keyset pagination and count-free pages to every repository.
+ * Registered as {@code repositoryBaseClass} in {@link com.bfpc.config.JpaConfig}.
+ *
+ * @param <T> the entity type
+ * @param <ID> the ID type
+ */
+@Transactional(readOnly = true)
+public class KeysetRepositoryImpl<T, ID extends Serializable> extends SimpleJpaRepository<T, ID>
+        implements KeysetRepository<T, ID> {
+
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final EntityManager entityManager;
+
+    public KeysetRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public KeysetSlice<T> findSlice(Specification<T> spec, Sort.Order order, String cursor, int size) {
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+        String idName = entityInformation.getIdAttribute().getName();
+        boolean byId = order.getProperty().equals(idName);
+        Class<?> keyType = entityManager.getMetamodel().entity(getDomainClass())
+                .getAttribute(order.getProperty()).getJavaType();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(getDomainClass());
+        Root<T> root = query.from(getDomainClass());
+        Path<Comparable<Object>> key = root.get(order.getProperty());
+        Path<Comparable<Object>> id = root.get(idName);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                predicates.add(filter);
+            }
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            KeysetCursor position = KeysetCursor.decode(cursor, order, keyType, entityInformation.getIdType());
+            Predicate afterId = after(cb, id, position.id(), order.isAscending());
+            predicates.add(byId ? afterId : cb.or(
+                    after(cb, key, position.key(), order.isAscending()),
+                    cb.and(cb.equal(key, position.key()), afterId)));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(byId
+                ? List.of(order.isAscending() ? cb.asc(id) : cb.desc(id))
+                : List.of(order.isAscending() ? cb.asc(key) : cb.desc(key),
+                          order.isAscending() ? cb.asc(id) : cb.desc(id)));
+
+        // One extra row tells whether another slice follows
+        List<T> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(size - 1);
+            Object lastKey = new DirectFieldAccessFallbackBeanWrapper(last).getPropertyValue(order.getProperty());
+            nextCursor = KeysetCursor.encode(order, lastKey, entityInformation.getId(last));
+        }
+        return new KeysetSlice<>(List.copyOf(content), size, hasNext, nextCursor);
+    }
+
+    @Override
+    public Slice<T> findAll(Specification<T> spec, Pageable pageable, PageTotal total) {
+        if (total == PageTotal.EXACT || (total == PageTotal.APPROXIMATE && spec != null)) {
+            return findAll(spec, pageable);
+        }
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(findAll(spec, pageable.getSort()));
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(getDomainClass());
+        Root<T> root = query.from(getDomainClass());
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                query.where(filter);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        List<T> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<T> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        if (total == PageTotal.NONE) {
+            return new SliceImpl<>(List.copyOf(content), pageable, hasNext);
+        }
+        // The estimate may lag behind, but never below the rows this page has already proven to exist
+        long seen = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+        return new PageImpl<>(List.copyOf(content), pageable, hasNext ? Math.max(estimateCount(), seen) : seen);
+    }
+
+    /**
+     * Estimate the number of rows from the Postgres planner statistics, which are refreshed by
+     * (auto)vacuum and analyze. Other databases, and tables never analyzed, are counted exactly.
+     *
+     * @return the estimated number of rows
+     */
+    private long estimateCount() {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        Table table = getDomainClass().getAnnotation(Table.class);
+        if (dialect instanceof PostgreSQLDialect && table != null) {
+            List<?> estimate = entityManager
+                    .createNativeQuery("SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass(:table)")
+                    .setParameter("table", table.name())
+                    .getResultList();
+            if (!estimate.isEmpty() && ((Number) estimate.get(0)).longValue() >= 0) {
+                return ((Number) estimate.get(0)).longValue();
+            }
+        }
+        return count();
+    }
+
+    private static Predicate after(CriteriaBuilder cb, Expression<Comparable<Object>> path, Object value,
+                                   boolean ascending) {
+        @SuppressWarnings("unchecked")
+        Comparable<Object> comparable = (Comparable<Object>) value;
+        return ascending ? cb.greaterThan(path, comparable) : cb.lessThan(path, comparable);
+    }
+}
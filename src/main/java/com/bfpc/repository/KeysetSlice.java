@@ -0,0 +1,27 @@
+package com.bfpc.repository;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice of rows from keyset pagination, without a total count.
+ *
+ * @param content the rows
+ * @param size the requested number of rows
+ * @param hasNext whether more rows follow
+ * @param nextCursor the cursor to request the following rows with, or null if there are none
+ * @param <T> the row type
+ */
+public record KeysetSlice<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+
+    /**
+     * Convert the rows, keeping the cursor.
+     *
+     * @param converter the row converter
+     * @param <U> the converted row type
+     * @return the converted slice
+     */
+    public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetSlice<>(content.stream().<U>map(converter).toList(), size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,201 @@
+package com.bfpc.repository;
+
+import com.bfpc.domain.entity.MarketPriceDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for the daily market price rollup.
+ * Writes are native Postgres statements, so concurrent writers merge into the same row atomically.
+ */
+@Repository
+public interface MarketPriceDailyRollupRepository extends JpaRepository<MarketPriceDailyRollup, Long> {
+
+    /**
+     * Merge newly created prices of one crop type, market and day into the rollup.
+     *
+     * @param cropType the crop type name
+     * @param marketId the market ID
+     * @param priceDate the price date
+     * @param sampleCount the number of new prices
+     * @param priceSum the sum of the new prices
+     * @param minPrice the lowest new price
+     * @param maxPrice the highest new price
+     * @param lastPrice the new price with the highest ID
+     * @param lastPriceId the highest ID of the new prices
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO market_price_daily_rollup AS r (id, crop_type, market_id, price_date, sample_count, price_sum,
+                                                        min_price, max_price, last_price, last_price_id, updated_at)
+            VALUES (nextval('market_price_daily_rollup_seq'), :cropType, :marketId, :priceDate, :sampleCount, :priceSum,
+                    :minPrice, :maxPrice, :lastPrice, :lastPriceId, now())
+            ON CONFLICT (crop_type, market_id, price_date) DO UPDATE SET
+                sample_count = r.sample_count + EXCLUDED.sample_count,
+                price_sum = r.price_sum + EXCLUDED.price_sum,
+                min_price = LEAST(r.min_price, EXCLUDED.min_price),
+                max_price = GREATEST(r.max_price, EXCLUDED.max_price),
+                last_price = CASE WHEN EXCLUDED.last_price_id > r.last_price_id THEN EXCLUDED.last_price ELSE r.last_price END,
+                last_price_id = GREATEST(r.last_price_id, EXCLUDED.last_price_id),
+                updated_at = now()
+            """, nativeQuery = true)
+    void upsert(String cropType, Long marketId, LocalDate priceDate, long sampleCount, BigDecimal priceSum,
+                BigDecimal minPrice, BigDecimal maxPrice, BigDecimal lastPrice, Long lastPriceId);
+
+    /**
+     * Delete the rollup row of one crop type, market and day.
+     *
+     * @param cropType the crop type name
+     * @param marketId the market ID
+     * @param priceDate the price date
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM market_price_daily_rollup
+            WHERE crop_type = :cropType AND market_id = :marketId AND price_date = :priceDate
+            """, nativeQuery = true)
+    void deleteByKey(String cropType, Long marketId, LocalDate priceDate);
+
+    /**
+     * Recompute the rollup row of one crop type, market and day from the raw prices.
+     * Must run after {@link #deleteByKey}; inserts nothing if no prices remain, and overwrites a row
+     * a concurrent writer re-created in between.
+     *
+     * @param cropType the crop type name
+     * @param marketId the market ID
+     * @param priceDate the price date
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO market_price_daily_rollup (id, crop_type, market_id, price_date, sample_count, price_sum,
+                                                   min_price, max_price, last_price, last_price_id, updated_at)
+            SELECT nextval('market_price_daily_rollup_seq'), crop_type, market_id, price_date, COUNT(*), SUM(price),
+                   MIN(price), MAX(price), (ARRAY_AGG(price ORDER BY id DESC))[1], MAX(id), now()
+            FROM market_prices
+            WHERE crop_type = :cropType AND market_id = :marketId AND price_date = :priceDate
+            GROUP BY crop_type, market_id, price_date
+            ON CONFLICT (crop_type, market_id, price_date) DO UPDATE SET
+                sample_count = EXCLUDED.sample_count,
+                price_sum = EXCLUDED.price_sum,
+                min_price = EXCLUDED.min_price,
+                max_price = EXCLUDED.max_price,
+                last_price = EXCLUDED.last_price,
+                last_price_id = EXCLUDED.last_price_id,
+                updated_at = now()
+            """, nativeQuery = true)
+    void insertFromPrices(String cropType, Long marketId, LocalDate priceDate);
+
+    /**
+     * Delete every rollup row.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM market_price_daily_rollup", nativeQuery = true)
+    void deleteAllRows();
+
+    /**
+     * Recompute every rollup row from the raw prices.
+     * Must run after {@link #deleteAllRows()}.
+     *
+     * @return the number of rollup rows
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO market_price_daily_rollup (id, crop_type, market_id, price_date, sample_count, price_sum,
+                                                   min_price, max_price, last_price, last_price_id, updated_at)
+            SELECT nextval('market_price_daily_rollup_seq'), crop_type, market_id, price_date, COUNT(*), SUM(price),
+                   MIN(price), MAX(price), (ARRAY_AGG(price ORDER BY id DESC))[1], MAX(id), now()
+            FROM market_prices
+            GROUP BY crop_type, market_id, price_date
+            """, nativeQuery = true)
+    int insertAllFromPrices();
+
+    /**
+     * Aggregate the daily rollup per crop type, market and week, with the week-over-week change of the
+     * last price computed in the database.
+     *
+     * @param cropType the crop type name, or null for all crop types
+     * @param marketId the market ID, or null for all markets
+     * @param startDate the start date
+     * @param endDate the end date
+     * @return the weekly aggregates, ordered by crop type, market and week
+     */
+    @Query(value = """
+            SELECT w.crop_type AS "cropType", w.market_id AS "marketId", m.name AS "marketName",
+                   w.week_start AS "weekStart", w.min_price AS "minPrice", w.max_price AS "maxPrice",
+                   w.avg_price AS "avgPrice", w.last_price AS "lastPrice", w.sample_count AS "sampleCount",
+                   CASE WHEN LAG(w.last_price) OVER series > 0
+                        THEN ROUND((w.last_price - LAG(w.last_price) OVER series) * 100 / LAG(w.last_price) OVER series, 2)
+                   END AS "percentageChange"
+            FROM (
+                SELECT r.crop_type, r.market_id,
+                       CAST(date_trunc('week', r.price_date) AS date) AS week_start,
+                       MIN(r.min_price) AS min_price,
+                       MAX(r.max_price) AS max_price,
+                       ROUND(SUM(r.price_sum) / SUM(r.sample_count), 2) AS avg_price,
+                       (ARRAY_AGG(r.last_price ORDER BY r.price_date DESC))[1] AS last_price,
+                       SUM(r.sample_count) AS sample_count
+                FROM market_price_daily_rollup r
+                WHERE r.price_date BETWEEN :startDate AND :endDate
+                  AND (CAST(:cropType AS varchar) IS NULL OR r.crop_type = CAST(:cropType AS varchar))
+                  AND (CAST(:marketId AS bigint) IS NULL OR r.market_id = CAST(:marketId AS bigint))
+                GROUP BY r.crop_type, r.market_id, date_trunc('week', r.price_date)
+            ) w
+            JOIN markets m ON m.id = w.market_id
+            WINDOW series AS (PARTITION BY w.crop_type, w.market_id ORDER BY w.week_start)
+            ORDER BY w.crop_type, w.market_id, w.week_start
+            """, nativeQuery = true)
+    List<MarketPriceWeeklyAggregate> findWeeklyAggregates(String cropType, Long marketId,
+                                                          LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Summarize the daily rollup per crop type and market over a date range.
+     *
+     * @param cropType the crop type name, or null for all crop types
+     * @param startDate the start date
+     * @param endDate the end date
+     * @return the summaries, ordered by crop type and market name
+     */
+    @Query(value = """
+            SELECT r.crop_type AS "cropType", r.market_id AS "marketId", m.name AS "marketName",
+                   SUM(r.sample_count) AS "sampleCount",
+                   ROUND(SUM(r.price_sum) / SUM(r.sample_count), 2) AS "avgPrice",
+                   MIN(r.min_price) AS "minPrice",
+                   MAX(r.max_price) AS "maxPrice",
+                   (ARRAY_AGG(r.last_price ORDER BY r.price_date DESC))[1] AS "lastPrice",
+                   MAX(r.price_date) AS "lastPriceDate"
+            FROM market_price_daily_rollup r
+            JOIN markets m ON m.id = r.market_id
+            WHERE r.price_date BETWEEN :startDate AND :endDate
+              AND (CAST(:cropType AS varchar) IS NULL OR r.crop_type = CAST(:cropType AS varchar))
+            GROUP BY r.crop_type, r.market_id, m.name
+            ORDER BY r.crop_type, m.name
+            """, nativeQuery = true)
+    List<MarketPriceSummary> findSummaries(String cropType, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Find the rollup rows from a date on, e.g. to load recent daily prices into memory.
+     *
+     * @param since the first price date
+     * @return the rollup rows
+     */
+    @Query("SELECT r FROM MarketPriceDailyRollup r WHERE r.priceDate >= :since")
+    List<MarketPriceDailyRollup> findAllSince(LocalDate since);
+
+    /**
+     * Find the ID of the latest market price per crop type and market.
+     *
+     * @return the market price IDs
+     */
+    @Query(value = """
+            SELECT DISTINCT ON (crop_type, market_id) last_price_id
+            FROM market_price_daily_rollup
+            ORDER BY crop_type, market_id, price_date DESC
+            """, nativeQuery = true)
+    List<Long> findLatestPriceIds();
+}
\ No newline at end of file
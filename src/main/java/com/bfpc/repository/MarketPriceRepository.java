@@ -1,73 +1,72 @@
 package com.bfpc.repository;
 
+import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.MarketPrice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repository for market price operations.
+ * Listings filter on plain column values and sort newest first, matching the composite indexes on
+ * {@code market_prices}, and fetch the market in the same query.
  */
 @Repository
-public interface MarketPriceRepository extends JpaRepository<MarketPrice, Long> {
+public interface MarketPriceRepository extends KeysetRepository<MarketPrice, Long> {
 
     /**
-     * Find market prices by crop type.
+     * Find market prices by crop type, newest first.
      *
      * @param cropType the crop type
      * @param pageable the pagination information
      * @return a page of market prices
      */
-    Page<MarketPrice> findByCropTypeIgnoreCase(String cropType, Pageable pageable);
+    @EntityGraph(attributePaths = "market")
+    Page<MarketPrice> findByCropTypeOrderByPriceDateDescIdDesc(Farmer.CropType cropType, Pageable pageable);
 
     /**
-     * Find market prices by date range.
+     * Find market prices by date range, newest first.
      *
      * @param startDate the start date
      * @param endDate the end date
      * @param pageable the pagination information
      * @return a page of market prices
      */
-    Page<MarketPrice> findByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+    @EntityGraph(attributePaths = "market")
+    Page<MarketPrice> findByPriceDateBetweenOrderByPriceDateDescIdDesc(LocalDate startDate, LocalDate endDate,
+                                                                     Pageable pageable);
 
     /**
-     * Find market prices by location.
+     * Find market prices by location, newest first.
      *
-     * @param location the location
+     * @param location the normalized location
      * @param pageable the pagination information
      * @return a page of market prices
      */
-    Page<MarketPrice> findByLocationIgnoreCase(String location, Pageable pageable);
+    @EntityGraph(attributePaths = "market")
+    Page<MarketPrice> findByLocationOrderByPriceDateDescIdDesc(String location, Pageable pageable);
 
     /**
-     * Find market prices by crop type and date range.
+     * Find market prices, newest first.
      *
-     * @param cropType the crop type
-     * @param startDate the start date
-     * @param endDate the end date
-     * @return a list of market prices
-     */
-    List<MarketPrice> findByCropTypeIgnoreCaseAndDateBetweenOrderByDateAsc(String cropType, LocalDate startDate, LocalDate endDate);
-
-    /**
-     * Find latest market prices by crop type.
-     *
-     * @param cropType the crop type
      * @param pageable the pagination information
      * @return a page of market prices
      */
-    Page<MarketPrice> findByCropTypeIgnoreCaseOrderByDateDesc(String cropType, Pageable pageable);
+    @EntityGraph(attributePaths = "market")
+    Page<MarketPrice> findAllByOrderByPriceDateDescIdDesc(Pageable pageable);
 
     /**
-     * Find latest market prices.
+     * Find market prices by ID, with their markets.
      *
-     * @param pageable the pagination information
-     * @return a page of market prices
+     * @param ids the market price IDs
+     * @return a list of market prices
      */
-    Page<MarketPrice> findAllByOrderByDateDesc(Pageable pageable);
+    @Query("SELECT mp FROM MarketPrice mp JOIN FETCH mp.market WHERE mp.id IN :ids")
+    List<MarketPrice> findAllWithMarketByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
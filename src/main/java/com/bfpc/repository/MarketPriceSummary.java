@@ -0,0 +1,28 @@
+package com.bfpc.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projection summarizing the market prices of a crop type in a market over a date range.
+ */
+public interface MarketPriceSummary {
+
+    String getCropType();
+
+    Long getMarketId();
+
+    String getMarketName();
+
+    Long getSampleCount();
+
+    BigDecimal getAvgPrice();
+
+    BigDecimal getMinPrice();
+
+    BigDecimal getMaxPrice();
+
+    BigDecimal getLastPrice();
+
+    LocalDate getLastPriceDate();
+}
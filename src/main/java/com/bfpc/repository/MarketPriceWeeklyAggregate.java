@@ -0,0 +1,30 @@
+package com.bfpc.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projection of market prices aggregated per crop type, market and week.
+ */
+public interface MarketPriceWeeklyAggregate {
+
+    String getCropType();
+
+    Long getMarketId();
+
+    String getMarketName();
+
+    LocalDate getWeekStart();
+
+    BigDecimal getMinPrice();
+
+    BigDecimal getMaxPrice();
+
+    BigDecimal getAvgPrice();
+
+    BigDecimal getLastPrice();
+
+    Long getSampleCount();
+
+    BigDecimal getPercentageChange(); // change of the last price against the previous week, null for the first week
+}
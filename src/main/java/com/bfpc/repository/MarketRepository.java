@@ -0,0 +1,12 @@
+package com.bfpc.repository;
+
+import com.bfpc.domain.entity.Market;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for market operations.
+ */
+@Repository
+public interface MarketRepository extends JpaRepository<Market, Long> {
+}
@@ -0,0 +1,38 @@
+package com.bfpc.repository;
+
+/**
+ * How the total number of rows of a paginated listing is computed.
+ */
+public enum PageTotal {
+
+    /**
+     * Count the rows exactly with a count query.
+     */
+    EXACT,
+
+    /**
+     * Skip the count; the response only tells whether a next page exists.
+     */
+    NONE,
+
+    /**
+     * Estimate the row count from the planner statistics of the table instead of counting.
+     */
+    APPROXIMATE;
+
+    /**
+     * Parse the {@code withTotal} request parameter.
+     *
+     * @param withTotal {@code true}, {@code false} or {@code approximate}
+     * @return the total mode
+     * @throws IllegalArgumentException if the value is not supported
+     */
+    public static PageTotal fromParameter(String withTotal) {
+        return switch (withTotal.toLowerCase()) {
+            case "true" -> EXACT;
+            case "false" -> NONE;
+            case "approximate" -> APPROXIMATE;
+            default -> throw new IllegalArgumentException("withTotal must be true, false or approximate");
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.bfpc.repository;
+
+import com.bfpc.domain.entity.PriceAlertRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for price alert rule operations.
+ */
+@Repository
+public interface PriceAlertRuleRepository extends JpaRepository<PriceAlertRule, Long> {
+
+    /**
+     * Find the rules of a user with their markets.
+     *
+     * @param userId the user ID
+     * @return the rules, oldest first
+     */
+    @Query("SELECT r FROM PriceAlertRule r LEFT JOIN FETCH r.market WHERE r.user.id = :userId ORDER BY r.id")
+    List<PriceAlertRule> findAllWithMarketByUserId(Long userId);
+
+    /**
+     * Find a rule of a user.
+     *
+     * @param id the rule ID
+     * @param userId the user ID
+     * @return the rule, or empty if it does not exist or belongs to another user
+     */
+    @Query("SELECT r FROM PriceAlertRule r LEFT JOIN FETCH r.market WHERE r.id = :id AND r.user.id = :userId")
+    Optional<PriceAlertRule> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Find all active rules, to build the in-memory alert index.
+     *
+     * @return the active rules
+     */
+    @Query("SELECT r FROM PriceAlertRule r WHERE r.active = true")
+    List<PriceAlertRule> findAllActive();
+}
@@ -0,0 +1,25 @@
+package com.bfpc.repository;
+
+import com.bfpc.domain.entity.User;
+
+/**
+ * Projection of the user account of a farmer registered for a training.
+ */
+public interface TrainingAttendee {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getPhoneNumber();
+
+    User.UserType getUserType();
+
+    String getProfileImageUrl();
+
+    String getLocalGovernmentArea();
+}
@@ -0,0 +1,111 @@
+package com.bfpc.repository;
+
+import com.bfpc.domain.entity.TrainingRegistrationRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for training registration request operations.
+ */
+@Repository
+public interface TrainingRegistrationRequestRepository extends JpaRepository<TrainingRegistrationRequest, Long> {
+
+    /**
+     * Find a registration request of a training.
+     *
+     * @param id the request ID
+     * @param trainingId the training ID
+     * @return an Optional containing the request if found
+     */
+    Optional<TrainingRegistrationRequest> findByIdAndTrainingId(Long id, Long trainingId);
+
+    /**
+     * Check if a farmer has a request for a training in the given status.
+     *
+     * @param trainingId the training ID
+     * @param farmerId the farmer ID
+     * @param status the status
+     * @return true if such a request exists, false otherwise
+     */
+    boolean existsByTrainingIdAndFarmerIdAndStatus(Long trainingId, Long farmerId,
+                                                   TrainingRegistrationRequest.Status status);
+
+    /**
+     * Count the requests of a training in the given status that arrived before a request.
+     *
+     * @param trainingId the training ID
+     * @param status the status
+     * @param id the request ID
+     * @return the number of earlier requests
+     */
+    long countByTrainingIdAndStatusAndIdLessThan(Long trainingId, TrainingRegistrationRequest.Status status, Long id);
+
+    /**
+     * Find the trainings with waiting requests and free seats.
+     *
+     * @return the training IDs
+     */
+    @Query(value = """
+            SELECT DISTINCT r.training_id
+            FROM training_registration_requests r
+            JOIN trainings t ON t.id = r.training_id
+            WHERE r.status = 'WAITING' AND (t.capacity IS NULL OR t.registered_count < t.capacity)
+            """, nativeQuery = true)
+    List<Long> findTrainingIdsWithFreeSeats();
+
+    /**
+     * Lock the earliest waiting requests of a training.
+     * Concurrent allocators wait for each other on the locked rows, so seats go out in arrival order.
+     *
+     * @param trainingId the training ID
+     * @param limit the maximum number of requests
+     * @return the waiting requests in arrival order
+     */
+    @Query(value = """
+            SELECT r.id AS id, r.farmer_id AS "farmerId", f.user_id AS "userId"
+            FROM training_registration_requests r
+            JOIN farmers f ON f.id = r.farmer_id
+            WHERE r.training_id = :trainingId AND r.status = 'WAITING'
+            ORDER BY r.id
+            LIMIT :limit
+            FOR UPDATE OF r
+            """, nativeQuery = true)
+    List<WaitingRegistration> lockWaiting(Long trainingId, int limit);
+
+    /**
+     * Update the status of registration requests.
+     *
+     * @param ids the request IDs
+     * @param status the new status
+     * @param updatedAt the update time
+     * @return the number of updated requests
+     */
+    @Modifying
+    @Query("UPDATE TrainingRegistrationRequest r SET r.status = :status, r.updatedAt = :updatedAt WHERE r.id IN :ids")
+    int updateStatus(Collection<Long> ids, TrainingRegistrationRequest.Status status, LocalDateTime updatedAt);
+
+    /**
+     * Update the status of a farmer's request for a training that is in the given status.
+     *
+     * @param trainingId the training ID
+     * @param farmerId the farmer ID
+     * @param from the current status
+     * @param to the new status
+     * @param updatedAt the update time
+     * @return the number of updated requests
+     */
+    @Modifying
+    @Query("""
+            UPDATE TrainingRegistrationRequest r SET r.status = :to, r.updatedAt = :updatedAt
+            WHERE r.training.id = :trainingId AND r.farmer.id = :farmerId AND r.status = :from
+            """)
+    int updateStatus(Long trainingId, Long farmerId, TrainingRegistrationRequest.Status from,
+                     TrainingRegistrationRequest.Status to, LocalDateTime updatedAt);
+}
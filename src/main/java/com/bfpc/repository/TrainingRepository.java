@@ -4,18 +4,19 @@ import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.Training;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for training operations.
  */
 @Repository
-public interface TrainingRepository extends JpaRepository<Training, Long> {
+public interface TrainingRepository extends KeysetRepository<Training, Long> {
 
     /**
      * Find trainings by crop focus.
@@ -56,6 +57,93 @@ public interface TrainingRepository extends JpaRepository<Training, Long> {
     @Query("SELECT t FROM Training t JOIN t.attendees a WHERE a.id = :farmerId")
     Page<Training> findByAttendeeId(Long farmerId, Pageable pageable);
 
+    /**
+     * Find the title of a training.
+     *
+     * @param trainingId the training ID
+     * @return an Optional containing the title if the training exists
+     */
+    @Query("SELECT t.title FROM Training t WHERE t.id = :trainingId")
+    Optional<String> findTitleById(Long trainingId);
+
+    /**
+     * Check if a farmer is registered for a training.
+     *
+     * @param trainingId the training ID
+     * @param farmerId the farmer ID
+     * @return true if the farmer is an attendee, false otherwise
+     */
+    @Query("SELECT COUNT(a) > 0 FROM Training t JOIN t.attendees a WHERE t.id = :trainingId AND a.id = :farmerId")
+    boolean isAttendee(Long trainingId, Long farmerId);
+
+    /**
+     * Reserve a seat in a training, unless it is at capacity.
+     * The row lock of the update serializes concurrent reservations, so the capacity is never exceeded.
+     *
+     * @param trainingId the training ID
+     * @return the number of updated trainings, 0 if the training does not exist or is full
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE trainings SET registered_count = registered_count + 1
+            WHERE id = :trainingId AND (capacity IS NULL OR registered_count < capacity)
+            """, nativeQuery = true)
+    int reserveSeat(Long trainingId);
+
+    /**
+     * Release a seat in a training.
+     *
+     * @param trainingId the training ID
+     * @return the number of updated trainings
+     */
+    @Modifying
+    @Query(value = "UPDATE trainings SET registered_count = registered_count - 1 "
+            + "WHERE id = :trainingId AND registered_count > 0", nativeQuery = true)
+    int releaseSeat(Long trainingId);
+
+    /**
+     * Add a farmer to the attendees of a training, unless already registered.
+     *
+     * @param trainingId the training ID
+     * @param farmerId the farmer ID
+     * @return the number of inserted attendees, 0 if the farmer was already registered
+     */
+    @Modifying
+    @Query(value = "INSERT INTO training_attendees (training_id, farmer_id) VALUES (:trainingId, :farmerId) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertAttendee(Long trainingId, Long farmerId);
+
+    /**
+     * Remove a farmer from the attendees of a training.
+     *
+     * @param trainingId the training ID
+     * @param farmerId the farmer ID
+     * @return the number of deleted attendees, 0 if the farmer was not registered
+     */
+    @Modifying
+    @Query(value = "DELETE FROM training_attendees WHERE training_id = :trainingId AND farmer_id = :farmerId",
+            nativeQuery = true)
+    int deleteAttendee(Long trainingId, Long farmerId);
+
+    /**
+     * Find the user accounts of the farmers registered for a training, in farmer registration order.
+     * Joins the attendees to their users in a single paged query instead of loading the training.
+     *
+     * @param trainingId the training ID
+     * @param pageable the pagination information, without sort
+     * @return a page of attendees
+     */
+    @Query(value = """
+            SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.email AS email,
+                   u.phoneNumber AS phoneNumber, u.userType AS userType,
+                   u.profileImageUrl AS profileImageUrl, u.localGovernmentArea AS localGovernmentArea
+            FROM Training t JOIN t.attendees f JOIN f.user u
+            WHERE t.id = :trainingId
+            ORDER BY f.id
+            """,
+            countQuery = "SELECT COUNT(f) FROM Training t JOIN t.attendees f WHERE t.id = :trainingId")
+    Page<TrainingAttendee> findAttendeesByTrainingId(Long trainingId, Pageable pageable);
+
     /**
      * Find upcoming trainings.
      *
@@ -5,7 +5,6 @@ import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -16,7 +15,7 @@ import java.util.List;
  * Repository for Transaction entity.
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends KeysetRepository<Transaction, Long> {
 
     /**
      * Find transactions by farmer.
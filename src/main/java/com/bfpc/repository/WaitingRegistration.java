@@ -0,0 +1,13 @@
+package com.bfpc.repository;
+
+/**
+ * Projection of a waiting training registration request, with the user to notify once seated.
+ */
+public interface WaitingRegistration {
+
+    Long getId();
+
+    Long getFarmerId();
+
+    Long getUserId();
+}
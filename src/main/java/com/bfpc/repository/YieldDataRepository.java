@@ -4,7 +4,6 @@ import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.YieldData;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -15,7 +14,7 @@ import java.util.List;
  * Repository for YieldData entity.
  */
 @Repository
-public interface YieldDataRepository extends JpaRepository<YieldData, Long> {
+public interface YieldDataRepository extends KeysetRepository<YieldData, Long> {
 
     /**
      * Find yield data by farmer.
@@ -2,7 +2,6 @@ package com.bfpc.security;
 
 import com.bfpc.domain.entity.Role;
 import com.bfpc.domain.entity.User;
-import com.bfpc.domain.repository.RoleRepository;
 import com.bfpc.domain.repository.UserRepository;
 import com.bfpc.dto.AuthenticationRequest;
 import com.bfpc.dto.AuthenticationResponse;
@@ -10,12 +9,12 @@ import com.bfpc.dto.RegisterRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service for authentication operations.
@@ -25,19 +24,22 @@ import java.util.Set;
 public class AuthenticationService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final RoleRegistry roleRegistry;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final CachingUserDetailsService userDetailsCache;
 
     /**
      * Register a new user.
+     * The request is validated on the calling thread, the password is hashed on the hashing
+     * executor and the user is then saved in its own transaction.
      *
      * @param request the registration request
-     * @return the authentication response with JWT tokens
+     * @return a future completing with the authentication response with JWT tokens
      */
-    @Transactional
-    public AuthenticationResponse register(RegisterRequest request) {
+    public CompletableFuture<AuthenticationResponse> register(RegisterRequest request) {
         // Check if user already exists
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email already in use");
@@ -50,39 +52,36 @@ public class AuthenticationService {
         Set<Role> roles = new HashSet<>();
         if (request.getRoles() != null && !request.getRoles().isEmpty()) {
             request.getRoles().forEach(roleName -> {
-                Role role = roleRepository.findByName(Role.RoleName.valueOf(roleName))
+                Role role = roleRegistry.findByName(Role.RoleName.valueOf(roleName))
                         .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleName));
                 roles.add(role);
             });
         } else {
             // Assign default role based on user type
-            Role defaultRole;
-            switch (request.getUserType()) {
-                case FARMER:
-                    defaultRole = roleRepository.findByName(Role.RoleName.ROLE_FARMER)
-                            .orElseThrow(() -> new IllegalArgumentException("Default role not found"));
-                    break;
-                case BUYER:
-                    defaultRole = roleRepository.findByName(Role.RoleName.ROLE_BUYER)
-                            .orElseThrow(() -> new IllegalArgumentException("Default role not found"));
-                    break;
-                case ADMIN:
-                    defaultRole = roleRepository.findByName(Role.RoleName.ROLE_ADMIN)
-                            .orElseThrow(() -> new IllegalArgumentException("Default role not found"));
-                    break;
-                case EXTENSION_OFFICER:
-                    defaultRole = roleRepository.findByName(Role.RoleName.ROLE_EXTENSION_OFFICER)
-                            .orElseThrow(() -> new IllegalArgumentException("Default role not found"));
-                    break;
-                case NGO_PARTNER:
-                case GOVERNMENT_PARTNER:
-                    defaultRole = roleRepository.findByName(Role.RoleName.ROLE_NGO_PARTNER)
-                            .orElseThrow(() -> new IllegalArgumentException("Default role not found"));
-                    break;
-                default:
-                    throw new IllegalArgumentException("Invalid user type");
-            }
-            roles.add(defaultRole);
+            roles.add(roleRegistry.findDefault(request.getUserType())
+                    .orElseThrow(() -> new IllegalArgumentException("Default role not found")));
+        }
+
+        return passwordHashingService.encode(request.getPassword())
+                .thenApply(encodedPassword -> transactionTemplate.execute(status ->
+                        createUser(request, roles, encodedPassword)));
+    }
+
+    /**
+     * Save a new user and issue its tokens.
+     * Uniqueness is checked again, as another registration may have completed while hashing.
+     *
+     * @param request the registration request
+     * @param roles the roles to assign
+     * @param encodedPassword the encoded password
+     * @return the authentication response with JWT tokens
+     */
+    private AuthenticationResponse createUser(RegisterRequest request, Set<Role> roles, String encodedPassword) {
+        if (userRepository.existsByEmail(request.getEmail())) {
+            throw new IllegalArgumentException("Email already in use");
+        }
+        if (userRepository.existsByPhoneNumber(request.getPhoneNumber())) {
+            throw new IllegalArgumentException("Phone number already in use");
         }
 
         // Create user
@@ -91,7 +90,7 @@ public class AuthenticationService {
                 .lastName(request.getLastName())
                 .email(request.getEmail())
                 .phoneNumber(request.getPhoneNumber())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodedPassword)
                 .userType(request.getUserType())
                 .address(request.getAddress())
                 .localGovernmentArea(request.getLocalGovernmentArea())
@@ -105,10 +104,12 @@ public class AuthenticationService {
 
         // Save user
         userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
 
         // Generate tokens
-        var jwtToken = jwtService.generateToken(user);
-        var refreshToken = jwtService.generateRefreshToken(user);
+        var principal = JwtPrincipal.of(user);
+        var jwtToken = jwtService.generateToken(principal);
+        var refreshToken = jwtService.generateRefreshToken(principal);
 
         return AuthenticationResponse.builder()
                 .accessToken(jwtToken)
@@ -123,11 +124,22 @@ public class AuthenticationService {
 
     /**
      * Authenticate a user.
+     * Password verification runs on the hashing executor.
+     *
+     * @param request the authentication request
+     * @return a future completing with the authentication response with JWT tokens
+     */
+    public CompletableFuture<AuthenticationResponse> authenticate(AuthenticationRequest request) {
+        return passwordHashingService.submit(() -> authenticateUser(request));
+    }
+
+    /**
+     * Verify the credentials of a user and issue its tokens.
      *
      * @param request the authentication request
      * @return the authentication response with JWT tokens
      */
-    public AuthenticationResponse authenticate(AuthenticationRequest request) {
+    private AuthenticationResponse authenticateUser(AuthenticationRequest request) {
         // Authenticate user
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -141,8 +153,9 @@ public class AuthenticationService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         // Generate tokens
-        var jwtToken = jwtService.generateToken(user);
-        var refreshToken = jwtService.generateRefreshToken(user);
+        var principal = JwtPrincipal.of(user);
+        var jwtToken = jwtService.generateToken(principal);
+        var refreshToken = jwtService.generateRefreshToken(principal);
 
         return AuthenticationResponse.builder()
                 .accessToken(jwtToken)
@@ -0,0 +1,48 @@
+package com.bfpc.security;
+
+import com.bfpc.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * User details service caching the database lookups of {@link DatabaseUserDetailsService} by email.
+ * Services changing a user must call {@link #evict(String)} for every email the user was loaded by.
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+public class CachingUserDetailsService implements UserDetailsService {
+
+    private final DatabaseUserDetailsService delegate;
+
+    /**
+     * Load a user by email, from the cache if present.
+     * Unknown emails are not cached.
+     *
+     * @param email the user email
+     * @return the user details
+     * @throws UsernameNotFoundException if no user exists with the email
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS_CACHE, key = "#email")
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return delegate.loadUserByUsername(email);
+    }
+
+    /**
+     * Evict the cached user details for an email.
+     * Inside a transaction the eviction is applied after commit.
+     *
+     * @param email the user email
+     */
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS_CACHE, key = "#email")
+    public void evict(String email) {
+        // Eviction is performed by the cache interceptor
+    }
+}
@@ -0,0 +1,36 @@
+package com.bfpc.security;
+
+import com.bfpc.domain.entity.User;
+import com.bfpc.domain.repository.UserRepository;
+import com.bfpc.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the user ID of the authenticated principal.
+ * Principals rebuilt from token claims and loaded from the database already carry it, so the
+ * database is only queried for other principal types.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private final UserRepository userRepository;
+
+    /**
+     * Resolve the user ID of a principal.
+     *
+     * @param principal the authenticated principal
+     * @return the user ID
+     * @throws ResourceNotFoundException if the user no longer exists
+     */
+    public Long resolveId(UserDetails principal) {
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return jwtPrincipal.getId();
+        }
+        return userRepository.findByEmail(principal.getUsername())
+                .map(User::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + principal.getUsername()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.bfpc.security;
+
+import com.bfpc.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service loading user details from the database by email.
+ * The user entity is mapped to a {@link JwtPrincipal}, so the details carry the user ID and the roles as authorities.
+ */
+@Service
+@RequiredArgsConstructor
+public class DatabaseUserDetailsService implements UserDetailsService {
+
+    private final UserRepository userRepository;
+
+    /**
+     * Load a user by email.
+     *
+     * @param email the user email
+     * @return the user details, with the password hash for credential checks
+     * @throws UsernameNotFoundException if no user exists with the email
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return userRepository.findByEmail(email)
+                .map(JwtPrincipal::of)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    }
+}
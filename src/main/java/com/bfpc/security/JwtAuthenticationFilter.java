@@ -8,8 +8,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -18,13 +16,13 @@ import java.io.IOException;
 
 /**
  * Filter for JWT authentication.
+ * The bearer token is authenticated by {@link JwtTokenAuthenticator}.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final JwtTokenAuthenticator jwtTokenAuthenticator;
 
     @Override
     protected void doFilterInternal(
@@ -34,7 +32,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Check if Authorization header is present and starts with "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -46,23 +43,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            // Extract user email from JWT token
-            userEmail = jwtService.extractUsername(jwt);
-            
-            // If user email is not null and user is not already authenticated
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load user details from database
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-                
-                // Validate JWT token
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    
+            // If user is not already authenticated
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Verify the token and resolve the user
+                UsernamePasswordAuthenticationToken authToken = jwtTokenAuthenticator.authenticate(jwt);
+                if (authToken != null) {
                     // Set authentication details
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     
@@ -0,0 +1,107 @@
+package com.bfpc.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of verified JWT claims.
+ * Entries are keyed by a SHA-256 hash of the token so raw tokens are never held in memory,
+ * and each entry expires no later than the token's own expiration.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private final Cache<String, Claims> cache;
+    private final long maxTtlNanos;
+
+    public JwtClaimsCache(
+            @Value("${bfpc.security.jwt.claims-cache.max-size:10000}") long maxSize,
+            @Value("${bfpc.security.jwt.claims-cache.max-ttl:300000}") long maxTtlMillis
+    ) {
+        this.maxTtlNanos = TimeUnit.MILLISECONDS.toNanos(maxTtlMillis);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ClaimsExpiry())
+                .build();
+    }
+
+    /**
+     * Get the verified claims for a token, if present.
+     *
+     * @param token the JWT token
+     * @return the cached claims, or null if the token has not been verified recently
+     */
+    public Claims get(String token) {
+        return cache.getIfPresent(hash(token));
+    }
+
+    /**
+     * Store the verified claims for a token.
+     *
+     * @param token the JWT token
+     * @param claims the verified claims
+     */
+    public void put(String token, Claims claims) {
+        if (claims.getExpiration() == null || claims.getExpiration().before(new Date())) {
+            return;
+        }
+        cache.put(hash(token), claims);
+    }
+
+    /**
+     * Remove all cached claims.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Hash a token for use as a cache key.
+     *
+     * @param token the JWT token
+     * @return the Base64-encoded SHA-256 hash of the token
+     */
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Expires entries at the token's expiration, capped at the configured maximum TTL.
+     */
+    private class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long untilExpiration = TimeUnit.MILLISECONDS.toNanos(
+                    claims.getExpiration().getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(untilExpiration, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.bfpc.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the HMAC keys used to sign and verify JWT tokens.
+ * Keys are decoded once and identified by a key ID ({@code kid}) that is written into every token header.
+ * New tokens are signed with the current key; tokens signed with a previous key keep verifying until
+ * that key is retired, so keys can be rotated without a restart.
+ */
+@Component
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private final Map<String, Key> verificationKeys = new ConcurrentHashMap<>();
+    private final String legacyKeyId;
+    private volatile SigningKey currentKey;
+
+    /**
+     * Create the key ring from configuration.
+     *
+     * @param secretKey the Base64-encoded current secret
+     * @param keyId the key ID of the current secret
+     * @param previousKeys comma-separated {@code kid:base64secret} pairs still accepted for verification
+     */
+    public JwtKeyRing(
+            @Value("${bfpc.security.jwt.secret-key}") String secretKey,
+            @Value("${bfpc.security.jwt.key-id:primary}") String keyId,
+            @Value("${bfpc.security.jwt.previous-keys:}") String previousKeys
+    ) {
+        for (String entry : previousKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Previous JWT keys must be configured as kid:secret pairs");
+            }
+            verificationKeys.put(parts[0], decode(parts[1]));
+        }
+        this.legacyKeyId = keyId;
+        this.currentKey = new SigningKey(keyId, decode(secretKey));
+        verificationKeys.put(keyId, currentKey.key());
+    }
+
+    /**
+     * Get the key new tokens are signed with.
+     *
+     * @return the current signing key
+     */
+    public SigningKey currentKey() {
+        return currentKey;
+    }
+
+    /**
+     * Make a new key the signing key. The previous signing key remains valid for verification.
+     *
+     * @param keyId the key ID of the new secret
+     * @param secretKey the Base64-encoded new secret
+     */
+    public synchronized void rotate(String keyId, String secretKey) {
+        if (verificationKeys.containsKey(keyId)) {
+            throw new IllegalArgumentException("JWT key id already in use: " + keyId);
+        }
+        SigningKey newKey = new SigningKey(keyId, decode(secretKey));
+        verificationKeys.put(keyId, newKey.key());
+        currentKey = newKey;
+    }
+
+    /**
+     * Stop accepting tokens signed with a previous key.
+     *
+     * @param keyId the key ID to retire
+     */
+    public synchronized void retire(String keyId) {
+        if (currentKey.keyId().equals(keyId)) {
+            throw new IllegalArgumentException("Cannot retire the current JWT signing key");
+        }
+        if (verificationKeys.remove(keyId) == null) {
+            throw new IllegalArgumentException("Unknown JWT key id: " + keyId);
+        }
+    }
+
+    /**
+     * Resolve the verification key for a token from its {@code kid} header.
+     * Tokens issued before key IDs were introduced carry no {@code kid} and resolve to the originally configured key.
+     *
+     * @param header the JWS header
+     * @param claims the token claims
+     * @return the verification key
+     */
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String keyId = header.getKeyId() != null ? header.getKeyId() : legacyKeyId;
+        Key key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+
+    /**
+     * Decode a Base64-encoded HMAC secret.
+     *
+     * @param secretKey the Base64-encoded secret
+     * @return the HMAC key
+     */
+    private static Key decode(String secretKey) {
+        try {
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid JWT secret key: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A signing key together with its key ID.
+     *
+     * @param keyId the key ID written to the token header
+     * @param key the HMAC key
+     */
+    public record SigningKey(String keyId, Key key) {
+    }
+}
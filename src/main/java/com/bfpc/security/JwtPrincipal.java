@@ -0,0 +1,128 @@
+package com.bfpc.security;
+
+import com.bfpc.domain.entity.User;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticated principal identified by the user ID.
+ * Built from the user when loaded from the database, or reconstructed from verified JWT claims without
+ * loading the user; only the former carries the password hash, which tokens never contain.
+ */
+@Getter
+public class JwtPrincipal implements UserDetails {
+
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_ENABLED = "enabled";
+    static final String CLAIM_ACCOUNT_NON_LOCKED = "nonLocked";
+    static final String CLAIM_ACCOUNT_NON_EXPIRED = "nonExpired";
+    static final String CLAIM_CREDENTIALS_NON_EXPIRED = "credentialsNonExpired";
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final List<GrantedAuthority> authorities;
+    private final boolean enabled;
+    private final boolean accountNonLocked;
+    private final boolean accountNonExpired;
+    private final boolean credentialsNonExpired;
+
+    private JwtPrincipal(Long id, String username, String password, List<GrantedAuthority> authorities,
+                         boolean enabled, boolean accountNonLocked, boolean accountNonExpired,
+                         boolean credentialsNonExpired) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.authorities = authorities;
+        this.enabled = enabled;
+        this.accountNonLocked = accountNonLocked;
+        this.accountNonExpired = accountNonExpired;
+        this.credentialsNonExpired = credentialsNonExpired;
+    }
+
+    /**
+     * Build the principal of a user loaded from the database, with its roles as authorities.
+     *
+     * @param user the user
+     * @return the principal
+     */
+    public static JwtPrincipal of(User user) {
+        List<GrantedAuthority> authorities = user.getRoles().stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.getName().name()))
+                .toList();
+        return new JwtPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                authorities,
+                user.isEnabled(),
+                user.isAccountNonLocked(),
+                user.isAccountNonExpired(),
+                user.isCredentialsNonExpired()
+        );
+    }
+
+    /**
+     * Build the claims that identify the user, so the principal can later be rebuilt from the token alone.
+     *
+     * @return the principal claims
+     */
+    Map<String, Object> toClaims() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, id);
+        claims.put(CLAIM_ROLES, authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        claims.put(CLAIM_ENABLED, enabled);
+        claims.put(CLAIM_ACCOUNT_NON_LOCKED, accountNonLocked);
+        claims.put(CLAIM_ACCOUNT_NON_EXPIRED, accountNonExpired);
+        claims.put(CLAIM_CREDENTIALS_NON_EXPIRED, credentialsNonExpired);
+        return claims;
+    }
+
+    /**
+     * Check whether a token carries the claims needed to rebuild the principal.
+     * Tokens issued before these claims were introduced do not.
+     *
+     * @param claims the verified claims
+     * @return true if the principal can be rebuilt from the claims
+     */
+    static boolean isPresentIn(Claims claims) {
+        return claims.get(CLAIM_USER_ID) instanceof Number && claims.get(CLAIM_ROLES) instanceof Collection;
+    }
+
+    /**
+     * Rebuild the principal from verified claims.
+     *
+     * @param claims the verified claims
+     * @return the principal
+     */
+    static JwtPrincipal fromClaims(Claims claims) {
+        List<GrantedAuthority> authorities = ((Collection<?>) claims.get(CLAIM_ROLES)).stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new JwtPrincipal(
+                ((Number) claims.get(CLAIM_USER_ID)).longValue(),
+                claims.getSubject(),
+                null,
+                authorities,
+                flag(claims, CLAIM_ENABLED),
+                flag(claims, CLAIM_ACCOUNT_NON_LOCKED),
+                flag(claims, CLAIM_ACCOUNT_NON_EXPIRED),
+                flag(claims, CLAIM_CREDENTIALS_NON_EXPIRED)
+        );
+    }
+
+    private static boolean flag(Claims claims, String name) {
+        return Boolean.TRUE.equals(claims.get(name, Boolean.class));
+    }
+}
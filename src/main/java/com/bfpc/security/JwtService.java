@@ -1,15 +1,16 @@
 package com.bfpc.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,10 +20,11 @@ import java.util.function.Function;
  * Service for JWT operations.
  */
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${bfpc.security.jwt.secret-key}")
-    private String secretKey;
+    private final JwtKeyRing keyRing;
+    private final JwtClaimsCache claimsCache;
 
     @Value("${bfpc.security.jwt.expiration-time}")
     private long jwtExpiration;
@@ -30,6 +32,20 @@ public class JwtService {
     @Value("${bfpc.security.jwt.refresh-token-expiration}")
     private long refreshExpiration;
 
+    private JwtParser jwtParser;
+
+    /**
+     * Build the JWT parser once. The parser is immutable and thread-safe, and resolves
+     * verification keys from the key ring so rotation does not require rebuilding it.
+     */
+    @PostConstruct
+    void init() {
+        jwtParser = Jwts
+                .parserBuilder()
+                .setSigningKeyResolver(keyRing)
+                .build();
+    }
+
     /**
      * Extract username from JWT token.
      *
@@ -49,57 +65,79 @@ public class JwtService {
      * @return the claim
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = extractVerifiedClaims(token);
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Extract all claims from JWT token, verifying the signature at most once per token.
+     * Verified claims are cached until the token expires, so repeated requests carrying
+     * the same token skip parsing and HMAC verification.
+     *
+     * @param token the JWT token
+     * @return the verified claims
+     */
+    public Claims extractVerifiedClaims(String token) {
+        Claims claims = claimsCache.get(token);
+        if (claims == null) {
+            claims = extractAllClaims(token);
+            claimsCache.put(token, claims);
+        }
+        return claims;
+    }
+
     /**
      * Generate JWT token for a user.
      *
-     * @param userDetails the user details
+     * @param principal the user principal
      * @return the JWT token
      */
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+    public String generateToken(JwtPrincipal principal) {
+        return generateToken(new HashMap<>(), principal);
     }
 
     /**
      * Generate JWT token with extra claims for a user.
      *
      * @param extraClaims the extra claims
-     * @param userDetails the user details
+     * @param principal the user principal
      * @return the JWT token
      */
-    public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+    public String generateToken(Map<String, Object> extraClaims, JwtPrincipal principal) {
+        return buildToken(extraClaims, principal, jwtExpiration);
     }
 
     /**
      * Generate refresh token for a user.
      *
-     * @param userDetails the user details
+     * @param principal the user principal
      * @return the refresh token
      */
-    public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+    public String generateRefreshToken(JwtPrincipal principal) {
+        return buildToken(new HashMap<>(), principal, refreshExpiration);
     }
 
     /**
-     * Build a JWT token.
+     * Build a JWT token. The token embeds the user ID, roles and account status flags
+     * so the principal can be rebuilt without a database lookup.
      *
      * @param extraClaims the extra claims
-     * @param userDetails the user details
+     * @param principal the user principal
      * @param expiration the expiration time
      * @return the JWT token
      */
-    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+    private String buildToken(Map<String, Object> extraClaims, JwtPrincipal principal, long expiration) {
+        JwtKeyRing.SigningKey signingKey = keyRing.currentKey();
+        Map<String, Object> claims = new HashMap<>(principal.toClaims());
+        claims.putAll(extraClaims);
         return Jwts
                 .builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.keyId())
+                .setClaims(claims)
+                .setSubject(principal.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.key(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -111,28 +149,29 @@ public class JwtService {
      * @return true if the token is valid, false otherwise
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractVerifiedClaims(token), userDetails);
     }
 
     /**
-     * Check if a JWT token is expired.
+     * Check if already verified JWT claims are valid for a user.
      *
-     * @param token the JWT token
-     * @return true if the token is expired, false otherwise
+     * @param claims the verified claims
+     * @param userDetails the user details
+     * @return true if the claims belong to the user and have not expired, false otherwise
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return userDetails.getUsername().equals(username) && !isTokenExpired(claims);
     }
 
     /**
-     * Extract expiration date from JWT token.
+     * Check if JWT claims are expired.
      *
-     * @param token the JWT token
-     * @return the expiration date
+     * @param claims the verified claims
+     * @return true if the token is expired, false otherwise
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     /**
@@ -142,21 +181,28 @@ public class JwtService {
      * @return the claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
     /**
-     * Get signing key for JWT token.
+     * Rotate the signing key. Tokens signed with the previous key remain valid until it is retired.
+     *
+     * @param keyId the key ID of the new secret
+     * @param secretKey the Base64-encoded new secret
+     */
+    public void rotateSigningKey(String keyId, String secretKey) {
+        keyRing.rotate(keyId, secretKey);
+    }
+
+    /**
+     * Retire a previous signing key. Tokens signed with it are rejected from now on.
      *
-     * @return the signing key
+     * @param keyId the key ID to retire
      */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public void retireSigningKey(String keyId) {
+        keyRing.retire(keyId);
+        claimsCache.invalidateAll();
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.bfpc.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates bearer tokens, for HTTP requests and WebSocket connections alike.
+ * By default the principal is rebuilt from the token claims, with only a cached revocation check
+ * against the database. Tokens without principal claims, or deployments that disable
+ * {@code bfpc.security.jwt.stateless-principal}, load the user instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtTokenAuthenticator {
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${bfpc.security.jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
+
+    /**
+     * Authenticate a token.
+     *
+     * @param jwt the token
+     * @return the authentication, or null if the token has no subject, was revoked or is not valid for the user
+     * @throws io.jsonwebtoken.JwtException if the token cannot be parsed or verified
+     */
+    public UsernamePasswordAuthenticationToken authenticate(String jwt) {
+        // Parse and verify the JWT token once
+        Claims claims = jwtService.extractVerifiedClaims(jwt);
+        String userEmail = claims.getSubject();
+        if (userEmail == null) {
+            return null;
+        }
+
+        // Resolve user details from the token claims or the database
+        UserDetails userDetails = resolveUserDetails(claims, userEmail);
+        if (userDetails == null || !jwtService.isTokenValid(claims, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    /**
+     * Resolve the user details for a verified token.
+     *
+     * @param claims the verified claims
+     * @param userEmail the user email from the token subject
+     * @return the user details, or null if the token has been revoked
+     */
+    private UserDetails resolveUserDetails(Claims claims, String userEmail) {
+        if (!statelessPrincipal || !JwtPrincipal.isPresentIn(claims)) {
+            return this.userDetailsService.loadUserByUsername(userEmail);
+        }
+        JwtPrincipal principal = JwtPrincipal.fromClaims(claims);
+        if (!principal.isEnabled() || !principal.isAccountNonLocked()
+                || tokenRevocationService.isRevoked(principal.getId(), claims.getIssuedAt())) {
+            return null;
+        }
+        return principal;
+    }
+}
@@ -0,0 +1,151 @@
+package com.bfpc.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Service running password hashing and verification on a dedicated, bounded executor.
+ * BCrypt is deliberately slow, so keeping it off the servlet worker threads stops login and
+ * registration storms from starving the rest of the API. When the queue is full, submissions are
+ * rejected with a {@link RejectedExecutionException}, which is reported as 503 Service Unavailable.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${bfpc.security.password.hashing.threads:0}") int threads,
+            @Value("${bfpc.security.password.hashing.queue-capacity:200}") int queueCapacity
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Hash a raw password.
+     *
+     * @param rawPassword the raw password
+     * @return a future completing with the encoded password
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hash many raw passwords in parallel.
+     * The passwords are split into one slice per hashing thread, so a large batch occupies only
+     * a few queue slots. Slices are submitted one at a time, so a full queue can still reject a later
+     * slice; the slices already submitted are then cancelled and stop before their next password.
+     *
+     * @param rawPasswords the raw passwords
+     * @return a future completing with the encoded passwords, in the same order
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    public CompletableFuture<List<String>> encodeAll(List<String> rawPasswords) {
+        int sliceSize = Math.max(1, (rawPasswords.size() + executor.getMaximumPoolSize() - 1)
+                / executor.getMaximumPoolSize());
+        List<CompletableFuture<List<String>>> slices = new ArrayList<>();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        try {
+            for (int from = 0; from < rawPasswords.size(); from += sliceSize) {
+                List<String> slice = rawPasswords.subList(from, Math.min(from + sliceSize, rawPasswords.size()));
+                slices.add(submit(() -> encodeSlice(slice, abandoned)));
+            }
+        } catch (RejectedExecutionException e) {
+            abandoned.set(true);
+            slices.forEach(slice -> slice.cancel(false));
+            throw e;
+        }
+        return CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new))
+                .thenApply(done -> slices.stream()
+                        .flatMap(slice -> slice.join().stream())
+                        .toList());
+    }
+
+    /**
+     * Hash a slice of a batch, unless the batch was abandoned.
+     *
+     * @param rawPasswords the raw passwords of the slice
+     * @param abandoned whether the batch was abandoned
+     * @return the encoded passwords, in the same order
+     * @throws CancellationException if the batch was abandoned
+     */
+    private List<String> encodeSlice(List<String> rawPasswords, AtomicBoolean abandoned) {
+        List<String> encoded = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            if (abandoned.get()) {
+                throw new CancellationException("Password batch was rejected");
+            }
+            encoded.add(passwordEncoder.encode(rawPassword));
+        }
+        return encoded;
+    }
+
+    /**
+     * Run a task that hashes or verifies passwords on the hashing executor.
+     *
+     * @param task the task
+     * @param <T> the task result type
+     * @return a future completing with the task result
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Stop accepting tasks and let queued ones finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Creates named daemon threads for the hashing executor.
+     */
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.bfpc.security;
+
+import com.bfpc.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service storing re-hashed passwords after a successful login.
+ * The authentication provider calls it when the stored hash was made with a lower BCrypt
+ * strength than the configured one, so raising the strength upgrades users as they log in.
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final CachingUserDetailsService userDetailsCache;
+
+    /**
+     * Replace the stored password hash of a user.
+     *
+     * @param userDetails the authenticated user
+     * @param newPassword the password encoded with the current strength
+     * @return the updated user details, with the new password hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        var user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
+        return JwtPrincipal.of(user);
+    }
+}
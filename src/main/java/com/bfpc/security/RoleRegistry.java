@@ -0,0 +1,120 @@
+package com.bfpc.security;
+
+import com.bfpc.domain.entity.Role;
+import com.bfpc.domain.entity.User;
+import com.bfpc.domain.repository.RoleRepository;
+import com.bfpc.service.RoleChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory registry of all roles, so assigning roles on registration needs no database lookups.
+ * Roles are loaded at startup and reloaded lazily after a {@link RoleChangedEvent} commits. Every
+ * invalidation starts a new generation, and a reload only publishes the roles it read if no invalidation
+ * happened meanwhile, so a reload that read the rows before a commit cannot reinstall them afterwards.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Map<Role.RoleName, Role> roles;
+
+    /**
+     * Load all roles once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Find a role by name.
+     *
+     * @param name the role name
+     * @return an Optional containing the role if it exists
+     */
+    public Optional<Role> findByName(Role.RoleName name) {
+        return Optional.ofNullable(roles().get(name));
+    }
+
+    /**
+     * Find the role assigned by default to a type of user.
+     *
+     * @param userType the user type
+     * @return an Optional containing the default role if it exists
+     */
+    public Optional<Role> findDefault(User.UserType userType) {
+        return findByName(defaultRoleName(userType));
+    }
+
+    /**
+     * Get the name of the role assigned by default to a type of user.
+     *
+     * @param userType the user type
+     * @return the default role name
+     */
+    public static Role.RoleName defaultRoleName(User.UserType userType) {
+        return switch (userType) {
+            case FARMER -> Role.RoleName.ROLE_FARMER;
+            case BUYER -> Role.RoleName.ROLE_BUYER;
+            case ADMIN -> Role.RoleName.ROLE_ADMIN;
+            case EXTENSION_OFFICER -> Role.RoleName.ROLE_EXTENSION_OFFICER;
+            case NGO_PARTNER, GOVERNMENT_PARTNER -> Role.RoleName.ROLE_NGO_PARTNER;
+        };
+    }
+
+    /**
+     * Mark the registry as stale once a role change has been committed.
+     *
+     * @param event the role change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoleChanged(RoleChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Mark the registry as stale, so the next lookup reloads all roles.
+     */
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        roles = null;
+    }
+
+    private Map<Role.RoleName, Role> roles() {
+        Map<Role.RoleName, Role> current = roles;
+        return current != null ? current : reload();
+    }
+
+    private Map<Role.RoleName, Role> reload() {
+        while (true) {
+            long observed = generation.get();
+            Map<Role.RoleName, Role> loaded = new EnumMap<>(Role.RoleName.class);
+            roleRepository.findAll().forEach(role -> loaded.put(role.getName(), role));
+            synchronized (this) {
+                // Invalidated while reading, so the rows may predate the change
+                if (generation.get() == observed) {
+                    roles = Collections.unmodifiableMap(loaded);
+                    log.debug("Loaded {} roles", loaded.size());
+                    return roles;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bfpc.security;
+
+import com.bfpc.domain.entity.Conversation;
+import com.bfpc.repository.ConversationParticipantRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * Authenticates STOMP connections with the bearer token of the CONNECT frame's {@code Authorization} header.
+ * The WebSocket handshake itself is anonymous, since browsers cannot set headers on it; subscriptions
+ * are only accepted on authenticated sessions, only to a single chat topic, and to direct chats only for
+ * their participants. Clients send only to application destinations, handled by {@code @MessageMapping}
+ * methods; a frame sent straight to a topic would reach its subscribers unchecked and unsaved.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    public static final String CHAT_TOPIC_PREFIX = "/topic/chat/";
+    public static final String APP_DESTINATION_PREFIX = "/app";
+
+    private final JwtTokenAuthenticator jwtTokenAuthenticator;
+    private final CurrentUserResolver currentUserResolver;
+    private final ConversationParticipantRepository participantRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String authHeader = accessor.getFirstNativeHeader("Authorization");
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                throw new BadCredentialsException("Missing bearer token");
+            }
+            UsernamePasswordAuthenticationToken authentication;
+            try {
+                authentication = jwtTokenAuthenticator.authenticate(authHeader.substring(7));
+            } catch (RuntimeException e) {
+                throw new BadCredentialsException("Invalid token", e);
+            }
+            if (authentication == null) {
+                throw new BadCredentialsException("Invalid token");
+            }
+            accessor.setUser(authentication);
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            if (accessor.getUser() == null) {
+                throw new AccessDeniedException("Not authenticated");
+            }
+            if (destination == null || !destination.startsWith(CHAT_TOPIC_PREFIX)) {
+                throw new AccessDeniedException("Subscriptions are limited to chat topics");
+            }
+            // The broker matches subscriptions as path patterns, which would reach every chat
+            String chatId = destination.substring(CHAT_TOPIC_PREFIX.length());
+            if (chatId.isEmpty() || chatId.matches(".*[/*?{}].*")) {
+                throw new AccessDeniedException("Subscriptions are limited to a single chat");
+            }
+            if (chatId.startsWith(Conversation.DIRECT_ID_PREFIX) && !isParticipant(chatId, accessor.getUser())) {
+                throw new AccessDeniedException("Not a participant of chat: " + chatId);
+            }
+        } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            if (accessor.getUser() == null) {
+                throw new AccessDeniedException("Not authenticated");
+            }
+            if (destination == null || !destination.startsWith(APP_DESTINATION_PREFIX + "/")) {
+                throw new AccessDeniedException("Messages can only be sent to application destinations");
+            }
+        }
+        return message;
+    }
+
+    private boolean isParticipant(String chatId, Principal user) {
+        if (!(user instanceof Authentication authentication)
+                || !(authentication.getPrincipal() instanceof UserDetails principal)) {
+            return false;
+        }
+        String userId = String.valueOf(currentUserResolver.resolveId(principal));
+        return participantRepository.existsByConversationIdAndUserId(chatId, userId);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bfpc.security;
+
+import com.bfpc.domain.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Service deciding whether tokens of a user have been revoked.
+ * The per-user revocation state is a single-row lookup cached for a short TTL, so stateless
+ * authentication costs at most one small query per user per TTL instead of a full user load.
+ */
+@Service
+public class TokenRevocationService {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Optional<TokenRevocationState>> revocationStates;
+
+    public TokenRevocationService(
+            UserRepository userRepository,
+            @Value("${bfpc.security.jwt.revocation-check.max-size:100000}") long maxSize,
+            @Value("${bfpc.security.jwt.revocation-check.ttl:30000}") long ttlMillis
+    ) {
+        this.userRepository = userRepository;
+        this.revocationStates = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+
+    /**
+     * Check if a token issued to a user at the given time has been revoked.
+     * Tokens of deleted, disabled or locked accounts are always considered revoked.
+     *
+     * @param userId the user ID
+     * @param issuedAt the token issue time
+     * @return true if the token must be rejected, false otherwise
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Optional<TokenRevocationState> state = revocationStates.get(userId, userRepository::findTokenRevocationStateById);
+        if (state.isEmpty() || !state.get().enabled() || !state.get().accountNonLocked()) {
+            return true;
+        }
+        LocalDateTime revokedAt = state.get().tokensRevokedAt();
+        if (revokedAt == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.toInstant().isBefore(revokedAt.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Revoke all tokens issued to a user until now.
+     * Revocation is truncated to whole seconds to match the precision of the token issue time.
+     *
+     * @param userId the user ID
+     */
+    @Transactional
+    public void revokeTokens(Long userId) {
+        userRepository.revokeTokens(userId, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        evict(userId);
+    }
+
+    /**
+     * Drop the cached revocation state of a user, e.g. after the account was changed or deleted.
+     * Inside a transaction the state is dropped after commit, so a concurrent request cannot cache
+     * the state from before the change for a full TTL.
+     *
+     * @param userId the user ID
+     */
+    public void evict(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revocationStates.invalidate(userId);
+                }
+            });
+        } else {
+            revocationStates.invalidate(userId);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bfpc.security;
+
+import java.time.LocalDateTime;
+
+/**
+ * The account state needed to decide whether a user's tokens are still acceptable.
+ *
+ * @param tokensRevokedAt tokens issued before this time are rejected, or null if none were revoked
+ * @param enabled whether the account is enabled
+ * @param accountNonLocked whether the account is not locked
+ */
+public record TokenRevocationState(LocalDateTime tokensRevokedAt, boolean enabled, boolean accountNonLocked) {
+}
@@ -0,0 +1,21 @@
+package com.bfpc.service;
+
+import com.bfpc.dto.BulkRegistrationRequest;
+import com.bfpc.dto.BulkRegistrationResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service interface for registering many farmers at once.
+ */
+public interface BulkRegistrationService {
+
+    /**
+     * Register a batch of farmers.
+     * Invalid or duplicate rows are rejected individually and reported, the others are created.
+     *
+     * @param request the bulk registration request
+     * @return a future completing with the per-row registration report
+     */
+    CompletableFuture<BulkRegistrationResponse> registerFarmers(BulkRegistrationRequest request);
+}
@@ -1,8 +1,10 @@
 package com.bfpc.service;
 
 import com.bfpc.dto.BuyerDto;
+import com.bfpc.repository.PageTotal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -13,11 +15,13 @@ public interface BuyerService {
 
     /**
      * Get all buyers with pagination.
+     * Without a total no count query runs; the slice only tells whether a next page exists.
      *
      * @param pageable the pagination information
-     * @return a page of buyers
+     * @param total how to compute the total number of buyers
+     * @return a page of buyers, or a slice without a total
      */
-    Page<BuyerDto> getAllBuyers(Pageable pageable);
+    Slice<BuyerDto> getAllBuyers(Pageable pageable, PageTotal total);
 
     /**
      * Get a buyer by ID.
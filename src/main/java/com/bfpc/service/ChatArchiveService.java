@@ -0,0 +1,174 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.entity.ChatMessage;
+import com.bfpc.repository.ChatMessageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archive of old chat messages on local disk.
+ * Messages older than the configured age are moved out of the database into gzip-compressed NDJSON
+ * segments, one directory per chat, and read back as a stream in sending order.
+ * A segment is written completely before its messages are deleted, so an interrupted run leaves
+ * messages in the database and the next run rewrites the same segment.
+ */
+@Slf4j
+@Component
+public class ChatArchiveService {
+
+    private static final String SEGMENT_SUFFIX = ".ndjson.gz";
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int maxAgeDays;
+    private final int segmentSize;
+
+    public ChatArchiveService(
+            ChatMessageRepository chatMessageRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${bfpc.chat.archive.directory:./data/chat-archive}") Path directory,
+            @Value("${bfpc.chat.archive.max-age-days:90}") int maxAgeDays,
+            @Value("${bfpc.chat.archive.segment-size:10000}") int segmentSize
+    ) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.maxAgeDays = maxAgeDays;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Move the messages past the maximum age of every chat to the archive.
+     */
+    @Scheduled(cron = "${bfpc.chat.archive.cron:0 0 3 * * *}")
+    public void archiveOldMessages() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+        for (String chatId : chatMessageRepository.findChatIdsWithMessagesBefore(cutoff)) {
+            try {
+                int archived = archiveChat(chatId, cutoff);
+                log.info("Archived {} messages of chat {}", archived, chatId);
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to archive messages of chat {}", chatId, e);
+            }
+        }
+    }
+
+    /**
+     * Write the archived messages of a chat as NDJSON, oldest first.
+     * Segments are decompressed while streaming, so memory use does not depend on the archive size.
+     *
+     * @param chatId the chat ID
+     * @param out the output stream
+     * @throws IOException if a segment cannot be read or the output cannot be written
+     */
+    public void writeArchive(String chatId, OutputStream out) throws IOException {
+        Path chatDirectory = chatDirectory(chatId);
+        if (!Files.isDirectory(chatDirectory)) {
+            return;
+        }
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(chatDirectory)) {
+            segments = files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path segment : segments) {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(segment))) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    /**
+     * Move the messages of a chat sent before the cutoff to the archive, one segment at a time.
+     *
+     * @param chatId the chat ID
+     * @param cutoff the cutoff
+     * @return the number of archived messages
+     * @throws IOException if a segment cannot be written
+     */
+    private int archiveChat(String chatId, LocalDateTime cutoff) throws IOException {
+        int archived = 0;
+        List<ChatMessage> segment;
+        do {
+            segment = chatMessageRepository.findOldestBefore(chatId, cutoff, segmentSize);
+            if (segment.isEmpty()) {
+                break;
+            }
+            writeSegment(chatId, segment);
+            List<UUID> ids = segment.stream().map(ChatMessage::getId).toList();
+            transactionTemplate.executeWithoutResult(status ->
+                    chatMessageRepository.deleteByChatIdAndIdIn(chatId, ids));
+            archived += segment.size();
+        } while (segment.size() == segmentSize);
+        return archived;
+    }
+
+    /**
+     * Write a segment, named after its first message so that names sort in sending order.
+     *
+     * @param chatId the chat ID
+     * @param messages the messages, oldest first
+     * @throws IOException if the segment cannot be written
+     */
+    private void writeSegment(String chatId, List<ChatMessage> messages) throws IOException {
+        Path chatDirectory = chatDirectory(chatId);
+        Files.createDirectories(chatDirectory);
+        ChatMessage first = messages.get(0);
+        LocalDateTime sentAt = first.getSentAt();
+        long epochMicros = sentAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + sentAt.getNano() / 1_000;
+        String name = String.format("%020d-%s%s", epochMicros, first.getId(), SEGMENT_SUFFIX);
+
+        Path temp = Files.createTempFile(chatDirectory, "segment", ".tmp");
+        try {
+            try (Writer writer = new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8)) {
+                for (ChatMessage message : messages) {
+                    writer.write(objectMapper.writeValueAsString(ChatMessageCache.toDto(message)));
+                    writer.write('\n');
+                }
+            }
+            Files.move(temp, chatDirectory.resolve(name),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Get the archive directory of a chat; the chat ID is encoded so it cannot escape the archive.
+     *
+     * @param chatId the chat ID
+     * @return the directory
+     */
+    private Path chatDirectory(String chatId) {
+        return directory.resolve(Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(chatId.getBytes(StandardCharsets.UTF_8)));
+    }
+}
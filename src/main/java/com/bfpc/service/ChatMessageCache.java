@@ -0,0 +1,183 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.entity.ChatMessage;
+import com.bfpc.dto.MessageDto;
+import com.bfpc.repository.ChatMessageRepository;
+import com.bfpc.repository.KeysetRepository;
+import com.bfpc.repository.KeysetSlice;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Ring buffers of the most recent messages of the active chats.
+ * The first page of a chat is served from memory; a buffer is filled on first use from the database and the
+ * messages still waiting in the writer, then kept current by every sent message. Buffers are kept in the
+ * order of the database keyset, so their cursors continue exactly where the buffer ends. Buffers have a fixed
+ * size and the number of buffered chats is bounded, so memory stays flat however long a chat's history grows.
+ */
+@Component
+public class ChatMessageCache {
+
+    /**
+     * The order of chat messages, newest first.
+     */
+    public static final Sort.Order MESSAGE_ORDER = Sort.Order.desc("sentAt");
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatMessageWriter chatMessageWriter;
+    private final Cache<String, RecentMessages> recentMessages;
+    private final int capacity;
+
+    public ChatMessageCache(
+            ChatMessageRepository chatMessageRepository,
+            ChatMessageWriter chatMessageWriter,
+            MeterRegistry meterRegistry,
+            @Value("${bfpc.chat.messages.recent.size:100}") int capacity,
+            @Value("${bfpc.chat.messages.recent.max-chats:10000}") long maxChats,
+            @Value("${bfpc.chat.messages.recent.expire-after-access:1800000}") long expireAfterAccessMillis
+    ) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.chatMessageWriter = chatMessageWriter;
+        this.capacity = capacity;
+        this.recentMessages = Caffeine.newBuilder()
+                .maximumSize(maxChats)
+                .expireAfterAccess(Duration.ofMillis(expireAfterAccessMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentMessages, "chat.messages.recent");
+    }
+
+    /**
+     * Get the number of messages buffered per chat.
+     *
+     * @return the buffer size
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Add a sent message to the buffer of its chat.
+     *
+     * @param message the message
+     */
+    public void append(MessageDto message) {
+        recentMessages.get(message.getChatId(), this::load).add(message);
+    }
+
+    /**
+     * Get the newest messages of a chat, with the cursor continuing into the database.
+     *
+     * @param chatId the chat ID
+     * @param size the number of messages, at most the buffer size
+     * @return the slice
+     * @throws IllegalArgumentException if the size is out of range
+     */
+    public KeysetSlice<MessageDto> newest(String chatId, int size) {
+        if (size < 1 || size > capacity) {
+            throw new IllegalArgumentException("Size must be between 1 and " + capacity);
+        }
+        return recentMessages.get(chatId, this::load).newest(size);
+    }
+
+    /**
+     * Fill the buffer of a chat with its newest messages, written or still waiting in the writer.
+     *
+     * @param chatId the chat ID
+     * @return the buffer
+     */
+    private RecentMessages load(String chatId) {
+        // Unwritten messages first: a message written in between is then found in the database
+        List<ChatMessage> unwritten = chatMessageWriter.unwritten(chatId);
+        KeysetSlice<ChatMessage> slice = chatMessageRepository.findSlice(
+                (root, query, cb) -> cb.equal(root.get("chatId"), chatId), MESSAGE_ORDER, null, capacity);
+        RecentMessages recent = new RecentMessages(capacity, !slice.hasNext());
+        slice.content().forEach(message -> recent.add(toDto(message)));
+        unwritten.forEach(message -> recent.add(toDto(message)));
+        return recent;
+    }
+
+    /**
+     * Convert a message entity to a MessageDto.
+     *
+     * @param message the message
+     * @return the MessageDto
+     */
+    public static MessageDto toDto(ChatMessage message) {
+        return new MessageDto(
+                message.getId().toString(), message.getSenderId(), message.getSenderName(),
+                message.getSenderAvatar(), message.getContent(), message.getSentAt(), message.getType(),
+                message.getChatId()
+        );
+    }
+
+    /**
+     * Fixed-size ring of the newest messages of a chat, oldest first by sending time and then ID.
+     * Messages are not always added in that order, since concurrent senders queue them in any order.
+     */
+    private static final class RecentMessages {
+
+        private final TreeMap<Key, MessageDto> messages = new TreeMap<>();
+        private final int capacity;
+        private boolean complete; // whether the ring holds the whole chat
+
+        private RecentMessages(int capacity, boolean complete) {
+            this.capacity = capacity;
+            this.complete = complete;
+        }
+
+        private synchronized void add(MessageDto message) {
+            messages.put(new Key(message.getTimestamp(), UUID.fromString(message.getId())), message);
+            if (messages.size() > capacity) {
+                messages.pollFirstEntry();
+                complete = false;
+            }
+        }
+
+        private synchronized KeysetSlice<MessageDto> newest(int size) {
+            List<MessageDto> content = new ArrayList<>(Math.min(size, messages.size()));
+            Iterator<MessageDto> newestFirst = messages.descendingMap().values().iterator();
+            while (content.size() < size && newestFirst.hasNext()) {
+                content.add(newestFirst.next());
+            }
+            boolean hasNext = messages.size() > content.size() || !complete;
+            String nextCursor = null;
+            if (hasNext && !content.isEmpty()) {
+                MessageDto last = content.get(content.size() - 1);
+                nextCursor = KeysetRepository.cursorAfter(MESSAGE_ORDER, last.getTimestamp(),
+                        UUID.fromString(last.getId()));
+            }
+            return new KeysetSlice<>(List.copyOf(content), size, hasNext && nextCursor != null, nextCursor);
+        }
+    }
+
+    /**
+     * Position of a message in the keyset order; IDs compare as unsigned bytes, like the database's UUIDs.
+     */
+    private record Key(LocalDateTime sentAt, UUID id) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            int bySentAt = sentAt.compareTo(other.sentAt);
+            if (bySentAt != 0) {
+                return bySentAt;
+            }
+            int byHigh = Long.compareUnsigned(id.getMostSignificantBits(), other.id.getMostSignificantBits());
+            return byHigh != 0 ? byHigh
+                    : Long.compareUnsigned(id.getLeastSignificantBits(), other.id.getLeastSignificantBits());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.entity.ChatMessage;
+import com.bfpc.domain.entity.Conversation;
+import com.bfpc.repository.ChatMessageRepository;
+import com.bfpc.repository.ConversationParticipantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Append-only writer for chat messages.
+ * Sending a message only enqueues it; a background flush inserts the queued messages in JDBC batches,
+ * so a burst of messages costs a few batched inserts instead of one transaction per message.
+ * Messages become readable once flushed, within the flush interval; the conversation indexes of direct chats
+ * are updated in the same transaction, once per chat and sender in the batch.
+ * A batch that fails to write is kept and retried with exponential backoff before any later message is written,
+ * so sent messages are not lost while the database is unavailable: the queue fills up and further sends are
+ * rejected. A batch the database rejects as invalid is written message by message instead, and only the
+ * messages rejected on their own are dropped, so one bad message cannot hold up the rest.
+ */
+@Slf4j
+@Component
+public class ChatMessageWriter {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ConversationParticipantRepository participantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<ChatMessage> pending;
+    private final int batchSize;
+    private final Counter droppedMessages;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+    private final Object drainLock = new Object(); // makes taking a batch atomic for readers of unwritten messages
+    private volatile List<ChatMessage> unwritten = List.of(); // taken from the queue, not yet written
+    private int failures;
+    private long retryAt;
+
+    public ChatMessageWriter(
+            ChatMessageRepository chatMessageRepository,
+            ConversationParticipantRepository participantRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${bfpc.chat.messages.queue-capacity:10000}") int queueCapacity,
+            @Value("${bfpc.chat.messages.batch-size:500}") int batchSize,
+            @Value("${bfpc.chat.messages.retry-backoff:1000}") long retryBackoffMillis,
+            @Value("${bfpc.chat.messages.max-retry-backoff:60000}") long maxRetryBackoffMillis
+    ) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.participantRepository = participantRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+        this.droppedMessages = Counter.builder("chat.messages.dropped")
+                .description("Chat messages dropped because the database rejected them")
+                .register(meterRegistry);
+        Gauge.builder("chat.messages.pending", pending, BlockingQueue::size)
+                .description("Chat messages waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a message for writing.
+     *
+     * @param message the message, with its ID assigned
+     * @throws RejectedExecutionException if the queue is full because writes are falling behind
+     */
+    public void append(ChatMessage message) {
+        if (!pending.offer(message)) {
+            throw new RejectedExecutionException("Too many chat messages are waiting to be written");
+        }
+    }
+
+    /**
+     * Get the messages of a chat that are not written yet, in sending order.
+     * Read before the written messages, a message being written shows up in at least one of the two.
+     *
+     * @param chatId the chat ID
+     * @return the messages
+     */
+    public List<ChatMessage> unwritten(String chatId) {
+        List<ChatMessage> messages = new ArrayList<>();
+        synchronized (drainLock) {
+            for (ChatMessage message : unwritten) {
+                if (message.getChatId().equals(chatId)) {
+                    messages.add(message);
+                }
+            }
+            for (ChatMessage message : pending) {
+                if (message.getChatId().equals(chatId)) {
+                    messages.add(message);
+                }
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Write all queued messages, one transaction per batch.
+     * A failed batch is retried once its backoff has passed, ahead of the messages queued after it.
+     */
+    @Scheduled(fixedDelayString = "${bfpc.chat.messages.flush-interval:200}")
+    public synchronized void flush() {
+        while (true) {
+            if (unwritten.isEmpty()) {
+                List<ChatMessage> batch = new ArrayList<>(batchSize);
+                synchronized (drainLock) {
+                    if (pending.drainTo(batch, batchSize) == 0) {
+                        return;
+                    }
+                    unwritten = batch;
+                }
+            } else if (System.currentTimeMillis() < retryAt) {
+                return;
+            }
+            if (!write(unwritten)) {
+                return;
+            }
+            unwritten = List.of();
+        }
+    }
+
+    /**
+     * Write a batch of messages in one transaction.
+     *
+     * @param batch the messages, in sending order
+     * @return whether the batch was written or dropped; if not, the retry is scheduled
+     */
+    private boolean write(List<ChatMessage> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                chatMessageRepository.saveAllAndFlush(batch);
+                recordDirectMessages(batch);
+            });
+            failures = 0;
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            batch.forEach(message -> message.setPersisted(false));
+            if (batch.size() == 1) {
+                // Would fail every retry
+                ChatMessage message = batch.get(0);
+                droppedMessages.increment();
+                log.error("Dropped chat message {} of chat {}, rejected by the database",
+                        message.getId(), message.getChatId(), e);
+                return true;
+            }
+            log.warn("Writing {} chat messages one by one after the database rejected the batch", batch.size(), e);
+            for (int i = 0; i < batch.size(); i++) {
+                if (!write(List.of(batch.get(i)))) {
+                    unwritten = List.copyOf(batch.subList(i, batch.size()));
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            // Rolled back, so the messages are still new to the next attempt
+            batch.forEach(message -> message.setPersisted(false));
+            long backoff = Math.min(retryBackoffMillis << Math.min(failures, 20), maxRetryBackoffMillis);
+            failures++;
+            retryAt = System.currentTimeMillis() + backoff;
+            log.error("Failed to write {} chat messages, retrying in {} ms", batch.size(), backoff, e);
+            return false;
+        }
+    }
+
+    /**
+     * Record the direct messages of a batch in the conversation indexes.
+     *
+     * @param batch the messages, in sending order
+     */
+    private void recordDirectMessages(List<ChatMessage> batch) {
+        Map<Sender, Messages> bySender = new LinkedHashMap<>();
+        for (ChatMessage message : batch) {
+            if (message.getChatId().startsWith(Conversation.DIRECT_ID_PREFIX)) {
+                bySender.merge(new Sender(message.getChatId(), message.getSenderId()),
+                        new Messages(1, message.getSentAt()), Messages::plus);
+            }
+        }
+        bySender.forEach((sender, messages) -> participantRepository.recordMessages(
+                sender.chatId(), sender.senderId(), messages.count(), messages.lastSentAt()));
+    }
+
+    /**
+     * Write the messages still queued on shutdown, without waiting for the backoff of a failed batch.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        retryAt = 0;
+        flush();
+        int lost = unwritten.size() + pending.size();
+        if (lost > 0) {
+            log.error("Shutting down with {} chat messages not written", lost);
+        }
+    }
+
+    private record Sender(String chatId, String senderId) {
+    }
+
+    private record Messages(int count, LocalDateTime lastSentAt) {
+
+        Messages plus(Messages other) {
+            return new Messages(count + other.count,
+                    lastSentAt.isAfter(other.lastSentAt) ? lastSentAt : other.lastSentAt);
+        }
+    }
+}
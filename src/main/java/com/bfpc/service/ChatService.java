@@ -1,16 +1,21 @@
 package com.bfpc.service;
 
+import com.bfpc.dto.ConversationDto;
 import com.bfpc.dto.MessageDto;
 import com.bfpc.dto.CommunityDto;
+import com.bfpc.repository.KeysetSlice;
 
 import java.util.List;
 
 public interface ChatService {
-    List<CommunityDto> getAllCommunities();
+    List<CommunityDto> getAllCommunities(String userId);
     List<CommunityDto> getUserCommunities(String userId);
     void joinCommunity(String communityId, String userId);
     void leaveCommunity(String communityId, String userId);
-    List<MessageDto> getMessages(String chatId);
+    KeysetSlice<MessageDto> getMessages(String chatId, String userId, String cursor, int size);
+    void requireReadAccess(String chatId, String userId);
     MessageDto sendMessage(MessageDto messageDto);
     String startDirectChat(String userId, String participantId);
+    KeysetSlice<ConversationDto> getConversations(String userId, String cursor, int size);
+    void markConversationRead(String chatId, String userId);
 }
\ No newline at end of file
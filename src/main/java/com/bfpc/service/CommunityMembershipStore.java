@@ -0,0 +1,154 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.entity.CommunityMembership;
+import com.bfpc.repository.CommunityMembershipRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory index of community memberships, written through to the database.
+ * Keeps the member set of every community and the community set of every user, so membership checks
+ * and a user's communities are lookups, with an atomic member counter per community.
+ * Changes of the same membership are serialized by a striped lock, so the database and memory agree.
+ */
+@Slf4j
+@Component
+public class CommunityMembershipStore {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final CommunityMembershipRepository membershipRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Set<String>> membersByCommunity = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> communitiesByUser = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> memberCounts = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public CommunityMembershipStore(
+            CommunityMembershipRepository membershipRepository,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.membershipRepository = membershipRepository;
+        this.transactionTemplate = transactionTemplate;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Load the persisted memberships.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int count = 0;
+        for (CommunityMembership membership : membershipRepository.findAll()) {
+            add(membership.getCommunityId(), membership.getUserId());
+            count++;
+        }
+        log.info("Loaded {} community memberships", count);
+    }
+
+    /**
+     * Add a user to a community.
+     *
+     * @param communityId the community ID
+     * @param userId the user ID
+     * @return true if the user joined, false if already a member
+     */
+    public boolean join(String communityId, String userId) {
+        synchronized (lockFor(communityId, userId)) {
+            transactionTemplate.executeWithoutResult(status ->
+                    membershipRepository.insertIfAbsent(communityId, userId, LocalDateTime.now()));
+            return add(communityId, userId);
+        }
+    }
+
+    /**
+     * Remove a user from a community.
+     *
+     * @param communityId the community ID
+     * @param userId the user ID
+     * @return true if the user left, false if not a member
+     */
+    public boolean leave(String communityId, String userId) {
+        synchronized (lockFor(communityId, userId)) {
+            transactionTemplate.executeWithoutResult(status ->
+                    membershipRepository.deleteByCommunityIdAndUserId(communityId, userId));
+            Set<String> members = membersByCommunity.get(communityId);
+            if (members == null || !members.remove(userId)) {
+                return false;
+            }
+            memberCounts.get(communityId).decrementAndGet();
+            Set<String> communities = communitiesByUser.get(userId);
+            if (communities != null) {
+                communities.remove(communityId);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Check if a user is a member of a community.
+     *
+     * @param communityId the community ID
+     * @param userId the user ID
+     * @return true if the user is a member, false otherwise
+     */
+    public boolean isMember(String communityId, String userId) {
+        Set<String> members = membersByCommunity.get(communityId);
+        return members != null && members.contains(userId);
+    }
+
+    /**
+     * Get the number of members of a community.
+     *
+     * @param communityId the community ID
+     * @return the number of members
+     */
+    public int memberCount(String communityId) {
+        AtomicInteger count = memberCounts.get(communityId);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Get the communities of a user.
+     *
+     * @param userId the user ID
+     * @return an unmodifiable view of the community IDs
+     */
+    public Set<String> communitiesOf(String userId) {
+        Set<String> communities = communitiesByUser.get(userId);
+        return communities != null ? Collections.unmodifiableSet(communities) : Set.of();
+    }
+
+    private Object lockFor(String communityId, String userId) {
+        return locks[Math.floorMod(31 * communityId.hashCode() + userId.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * Record a membership in memory.
+     * The member set decides whether the membership is new, so the counter moves exactly once per change.
+     *
+     * @param communityId the community ID
+     * @param userId the user ID
+     * @return true if the membership is new, false otherwise
+     */
+    private boolean add(String communityId, String userId) {
+        if (!membersByCommunity.computeIfAbsent(communityId, id -> ConcurrentHashMap.newKeySet()).add(userId)) {
+            return false;
+        }
+        memberCounts.computeIfAbsent(communityId, id -> new AtomicInteger()).incrementAndGet();
+        communitiesByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(communityId);
+        return true;
+    }
+}
@@ -2,8 +2,11 @@ package com.bfpc.service;
 
 import com.bfpc.domain.entity.Farmer;
 import com.bfpc.dto.FarmerDto;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.repository.PageTotal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -14,11 +17,22 @@ public interface FarmerService {
 
     /**
      * Get all farmers with pagination.
+     * Without a total no count query runs; the slice only tells whether a next page exists.
      *
      * @param pageable the pagination information
-     * @return a page of farmers
+     * @param total how to compute the total number of farmers
+     * @return a page of farmers, or a slice without a total
+     */
+    Slice<FarmerDto> getAllFarmers(Pageable pageable, PageTotal total);
+
+    /**
+     * Get all farmers with keyset pagination, in registration order.
+     *
+     * @param cursor the cursor of the previous slice, or empty for the first slice
+     * @param size the slice size
+     * @return a slice of farmers
      */
-    Page<FarmerDto> getAllFarmers(Pageable pageable);
+    KeysetSlice<FarmerDto> getAllFarmers(String cursor, int size);
 
     /**
      * Get a farmer by ID.
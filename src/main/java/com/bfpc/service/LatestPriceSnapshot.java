@@ -0,0 +1,161 @@
+package com.bfpc.service;
+
+import com.bfpc.dto.MarketPriceDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory snapshot of the latest market price per crop type and market.
+ * The snapshot is immutable and replaced as a whole after every committed market price write, so
+ * readers never lock, never hit the database and always see a consistent set of prices.
+ * Rebuilds run on a background thread, so writers never wait for them, and writes committed while
+ * a rebuild runs are coalesced into a single follow-up rebuild.
+ */
+@Slf4j
+@Component
+public class LatestPriceSnapshot {
+
+    private final MarketPriceService marketPriceService;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    public LatestPriceSnapshot(MarketPriceService marketPriceService) {
+        this.marketPriceService = marketPriceService;
+        // At most one refresh is queued or running at a time, see requestRefresh
+        this.refreshExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "latest-price-snapshot");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Load the snapshot once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        requestRefresh();
+    }
+
+    /**
+     * Refresh the snapshot after market prices changed and the change was committed.
+     *
+     * @param event the market price change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMarketPriceChanged(MarketPriceChangedEvent event) {
+        log.debug("Refreshing latest prices after {}", event.source());
+        requestRefresh();
+    }
+
+    /**
+     * Get the current snapshot.
+     *
+     * @return the snapshot
+     */
+    public Snapshot current() {
+        return snapshot.get();
+    }
+
+    /**
+     * Stop the refresh thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Mark the snapshot stale and schedule a rebuild unless one is already scheduled.
+     * Requests never block: while a rebuild is queued or running, they only mark the snapshot stale,
+     * and the refresh thread rebuilds again until it is up to date.
+     */
+    private void requestRefresh() {
+        stale.set(true);
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refreshExecutor.execute(this::refresh);
+        }
+    }
+
+    /**
+     * Rebuild the snapshot from the database until it is no longer stale.
+     */
+    private void refresh() {
+        try {
+            while (stale.compareAndSet(true, false)) {
+                try {
+                    Snapshot previous = snapshot.get();
+                    snapshot.set(Snapshot.of(previous.version() + 1, marketPriceService.findLatestMarketPrices()));
+                } catch (RuntimeException e) {
+                    log.error("Failed to refresh latest prices", e);
+                }
+            }
+        } finally {
+            refreshScheduled.set(false);
+        }
+        // A request may have marked the snapshot stale after the last check but before the flag was cleared
+        if (stale.get()) {
+            requestRefresh();
+        }
+    }
+
+    /**
+     * Immutable set of latest prices, with precomputed views for the supported lookups.
+     *
+     * @param version the snapshot version, increasing with every rebuild
+     * @param etag the entity tag of the snapshot, unique across restarts
+     * @param all all latest prices
+     * @param byCropType the latest prices per crop type name
+     * @param byCropTypeAndMarket the latest price per crop type name and market ID
+     */
+    public record Snapshot(
+            long version,
+            String etag,
+            List<MarketPriceDto> all,
+            Map<String, List<MarketPriceDto>> byCropType,
+            Map<String, Map<Long, MarketPriceDto>> byCropTypeAndMarket
+    ) {
+
+        private static final String INSTANCE_ID = Long.toString(System.currentTimeMillis(), 36);
+        private static final Snapshot EMPTY = new Snapshot(0, etag(0), List.of(), Map.of(), Map.of());
+
+        private static Snapshot of(long version, List<MarketPriceDto> prices) {
+            Map<String, List<MarketPriceDto>> byCropType = new HashMap<>();
+            Map<String, Map<Long, MarketPriceDto>> byCropTypeAndMarket = new HashMap<>();
+            for (MarketPriceDto price : prices) {
+                byCropType.computeIfAbsent(price.getCropType(), k -> new ArrayList<>()).add(price);
+                byCropTypeAndMarket.computeIfAbsent(price.getCropType(), k -> new HashMap<>())
+                        .put(price.getMarketId(), price);
+            }
+            byCropType.replaceAll((cropType, list) -> Collections.unmodifiableList(list));
+            byCropTypeAndMarket.replaceAll((cropType, map) -> Collections.unmodifiableMap(map));
+            return new Snapshot(version, etag(version), List.copyOf(prices), Map.copyOf(byCropType),
+                    Map.copyOf(byCropTypeAndMarket));
+        }
+
+        private static String etag(long version) {
+            return "\"" + INSTANCE_ID + "-" + version + "\"";
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.bfpc.service;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical form of location names, e.g. {@code "  Makurdi  North "} becomes {@code "makurdi north"}.
+ * Locations are stored and looked up in this form, so queries compare plain values against an index
+ * instead of case-folding every row.
+ */
+public final class LocationNormalizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private LocationNormalizer() {
+    }
+
+    /**
+     * Normalize a location: trim it, collapse inner whitespace to single spaces and lower-case it.
+     *
+     * @param location the location
+     * @return the normalized location, or null if the location is null or blank
+     */
+    public static String normalize(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        return WHITESPACE.matcher(location.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,17 @@
+package com.bfpc.service;
+
+import com.bfpc.dto.MarketPriceDto;
+
+import java.util.List;
+
+/**
+ * Event published when market prices are created, updated or deleted.
+ * Listeners that mirror market prices in memory refresh after the writing transaction commits.
+ *
+ * @param source a short description of the write, for logging
+ * @param changedPrices the created or updated prices, for bulk imports only the latest imported price per
+ *                      crop type and market, empty for deletions
+ * @param bulk whether many prices were written, so listeners should reload rather than apply the changes
+ */
+public record MarketPriceChangedEvent(String source, List<MarketPriceDto> changedPrices, boolean bulk) {
+}
@@ -0,0 +1,24 @@
+package com.bfpc.service;
+
+import com.bfpc.dto.MarketPriceImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for importing market prices in bulk.
+ */
+public interface MarketPriceImportService {
+
+    /**
+     * Import market prices from a CSV stream.
+     * The first line is a header naming the columns {@code market_id}, {@code crop_type}, {@code unit},
+     * {@code price} and {@code price_date}, optionally followed by {@code quality_grade}, {@code source}
+     * and {@code is_high_demand}, in any order. Invalid rows are skipped and reported.
+     *
+     * @param csv the CSV stream, read line by line
+     * @return the import report
+     * @throws IOException if the stream cannot be read
+     */
+    MarketPriceImportReport importCsv(InputStream csv) throws IOException;
+}
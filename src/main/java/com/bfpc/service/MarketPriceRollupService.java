@@ -0,0 +1,38 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.entity.Farmer;
+import com.bfpc.domain.entity.MarketPrice;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Service interface maintaining the daily market price rollup.
+ */
+public interface MarketPriceRollupService {
+
+    /**
+     * Merge newly created market prices into the rollup.
+     * Prices are aggregated per crop type, market and day first, so a batch costs one upsert per day.
+     *
+     * @param marketPrices the saved market prices, with IDs assigned
+     */
+    void recordCreated(Collection<MarketPrice> marketPrices);
+
+    /**
+     * Recompute the rollup of one crop type, market and day from the raw prices,
+     * after a price was updated or deleted.
+     *
+     * @param cropType the crop type
+     * @param marketId the market ID
+     * @param priceDate the price date
+     */
+    void recompute(Farmer.CropType cropType, Long marketId, LocalDate priceDate);
+
+    /**
+     * Rebuild the whole rollup from the raw prices, e.g. to backfill after a bulk correction.
+     *
+     * @return the number of rollup rows
+     */
+    int rebuild();
+}
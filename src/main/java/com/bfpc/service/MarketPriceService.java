@@ -1,10 +1,14 @@
 package com.bfpc.service;
 
 import com.bfpc.dto.MarketPriceDto;
+import com.bfpc.dto.MarketPriceSummaryDto;
+import com.bfpc.dto.MarketPriceTrendDto;
+import com.bfpc.repository.KeysetSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Service interface for market price operations.
@@ -19,6 +23,15 @@ public interface MarketPriceService {
      */
     Page<MarketPriceDto> getAllMarketPrices(Pageable pageable);
 
+    /**
+     * Get all market prices with keyset pagination, newest first.
+     *
+     * @param cursor the cursor of the previous slice, or empty for the first slice
+     * @param size the slice size
+     * @return a slice of market prices
+     */
+    KeysetSlice<MarketPriceDto> getAllMarketPrices(String cursor, int size);
+
     /**
      * Get a market price by ID.
      *
@@ -73,18 +86,44 @@ public interface MarketPriceService {
     /**
      * Get market prices by location.
      *
-     * @param location the location
+     * @param location the location, matched after normalization
      * @param pageable the pagination information
      * @return a page of market prices
      */
     Page<MarketPriceDto> getMarketPricesByLocation(String location, Pageable pageable);
 
     /**
-     * Get market price trends.
+     * Get weekly market price trends per crop type and market, aggregated in the database.
      *
      * @param cropType the crop type (optional)
+     * @param marketId the market ID (optional)
      * @param months the number of months to analyze
+     * @param points the maximum number of points per series (optional), merging consecutive weeks
      * @return the market price trends
      */
-    Object getMarketPriceTrends(String cropType, Integer months);
+    List<MarketPriceTrendDto> getMarketPriceTrends(String cropType, Long marketId, Integer months, Integer points);
+
+    /**
+     * Get price summaries per crop type and market over a date range, read from the daily rollup.
+     *
+     * @param cropType the crop type (optional)
+     * @param startDate the start date
+     * @param endDate the end date
+     * @return the market price summaries
+     */
+    List<MarketPriceSummaryDto> getMarketPriceSummaries(String cropType, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Rebuild the daily market price rollup from the raw prices.
+     *
+     * @return the number of rollup rows
+     */
+    int rebuildRollup();
+
+    /**
+     * Find the latest market price per crop type and market in the database.
+     *
+     * @return the latest market prices
+     */
+    List<MarketPriceDto> findLatestMarketPrices();
 }
\ No newline at end of file
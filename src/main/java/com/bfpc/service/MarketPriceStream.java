@@ -0,0 +1,222 @@
+package com.bfpc.service;
+
+import com.bfpc.dto.MarketPriceDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events fan-out of market price changes.
+ * Publishing only appends to a bounded per-subscriber buffer and schedules a drain, so a slow client
+ * never blocks the writer. When a buffer is full the oldest pending price is dropped, since clients only
+ * care about the most recent prices. Sends are blocking writes: a client that stops reading holds one
+ * drain thread until the container's write timeout fails the send and the client is dropped, and only
+ * one thread, since a subscriber is drained by one thread at a time. Other clients are delayed only while
+ * every drain thread is held by a stalled client, so the thread count bounds the stalls absorbed at once.
+ */
+@Slf4j
+@Component
+public class MarketPriceStream {
+
+    private static final String SUBSCRIBER_BUFFER_METRIC = "market.prices.stream.subscriber.buffer";
+
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong nextSubscriberId = new AtomicLong();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor drainExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Counter droppedEvents;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    public MarketPriceStream(
+            MeterRegistry meterRegistry,
+            @Value("${bfpc.market-prices.stream.max-subscribers:1000}") int maxSubscribers,
+            @Value("${bfpc.market-prices.stream.buffer-size:64}") int bufferSize,
+            @Value("${bfpc.market-prices.stream.timeout:1800000}") long timeoutMillis,
+            @Value("${bfpc.market-prices.stream.threads:4}") int threads
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.drainExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxSubscribers),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "market-price-stream-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("market.prices.stream.subscribers", subscribers, Map::size)
+                .description("Number of connected market price stream subscribers")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("market.prices.stream.dropped")
+                .description("Market price events dropped because a subscriber buffer was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribe to market price changes.
+     *
+     * @param cropType the crop type to receive, or null for all crop types
+     * @param location the location to receive, or null for all locations
+     * @return the emitter streaming the changes
+     * @throws RejectedExecutionException if the maximum number of subscribers is reached
+     */
+    public SseEmitter subscribe(String cropType, String location) {
+        // Claimed in one step, so concurrent subscribers cannot exceed the limit
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new RejectedExecutionException("Too many market price stream subscribers");
+        }
+        long id = nextSubscriberId.incrementAndGet();
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(id, emitter,
+                cropType != null ? cropType.toUpperCase() : null, LocationNormalizer.normalize(location));
+        subscriber.bufferGauge = Gauge.builder(SUBSCRIBER_BUFFER_METRIC, subscriber, Subscriber::bufferedCount)
+                .description("Market price events waiting to be sent to a subscriber")
+                .tag("subscriber", Long.toString(id))
+                .register(meterRegistry);
+        subscribers.put(id, subscriber);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Push created and updated prices to matching subscribers once the write has committed.
+     *
+     * @param event the market price change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMarketPriceChanged(MarketPriceChangedEvent event) {
+        for (MarketPriceDto price : event.changedPrices()) {
+            for (Subscriber subscriber : subscribers.values()) {
+                if (subscriber.matches(price)) {
+                    subscriber.offer(price);
+                    scheduleDrain(subscriber);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop draining and complete all streams.
+     */
+    @PreDestroy
+    public void shutdown() {
+        drainExecutor.shutdownNow();
+        subscribers.values().forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            drainExecutor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // Prices stay buffered and are sent with the next change
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            MarketPriceDto price;
+            while ((price = subscriber.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .name("price")
+                        .id(String.valueOf(price.getId()))
+                        .data(price, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Market price stream subscriber {} disconnected", subscriber.id);
+            subscriber.emitter.completeWithError(e);
+            remove(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A price may have arrived after the last poll but before the flag was cleared
+        if (subscriber.bufferedCount() > 0) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber.id) != null) {
+            subscriberCount.decrementAndGet();
+            if (subscriber.bufferGauge != null) {
+                meterRegistry.remove(subscriber.bufferGauge);
+            }
+        }
+    }
+
+    /**
+     * A connected client with its filters and pending prices.
+     */
+    private class Subscriber {
+
+        private final long id;
+        private final SseEmitter emitter;
+        private final String cropType;
+        private final String location;
+        private final ArrayDeque<MarketPriceDto> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private Meter bufferGauge;
+
+        private Subscriber(long id, SseEmitter emitter, String cropType, String location) {
+            this.id = id;
+            this.emitter = emitter;
+            this.cropType = cropType;
+            this.location = location;
+        }
+
+        private boolean matches(MarketPriceDto price) {
+            return (cropType == null || cropType.equals(price.getCropType()))
+                    && (location == null || location.equals(price.getLocation()));
+        }
+
+        private synchronized void offer(MarketPriceDto price) {
+            if (buffer.size() >= bufferSize) {
+                buffer.pollFirst();
+                droppedEvents.increment();
+            }
+            buffer.addLast(price);
+        }
+
+        private synchronized MarketPriceDto poll() {
+            return buffer.pollFirst();
+        }
+
+        private synchronized int bufferedCount() {
+            return buffer.size();
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.entity.Farmer;
+import com.bfpc.domain.entity.MarketPriceDailyRollup;
+import com.bfpc.domain.entity.PriceAlertRule;
+import com.bfpc.dto.MarketPriceDto;
+import com.bfpc.dto.NotificationDto;
+import com.bfpc.repository.MarketPriceDailyRollupRepository;
+import com.bfpc.repository.PriceAlertRuleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates committed market price writes against the users' price alert rules.
+ * Rules live in a {@link PriceAlertIndex} and the last price per day of every crop type and market in a
+ * window of recent days lives in memory, so evaluating a price touches neither the database nor rules of
+ * other crops and places. A rule fires when a price crosses its threshold, i.e. it matches the new price
+ * but not the previous one, and notifies its user at most once per cooldown period. Notifications are
+ * delivered on a bounded background executor, off the committing writer's thread.
+ */
+@Slf4j
+@Component
+public class PriceAlertEngine {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final PriceAlertRuleRepository ruleRepository;
+    private final MarketPriceDailyRollupRepository rollupRepository;
+    private final NotificationService notificationService;
+    private final PriceAlertIndex index = new PriceAlertIndex();
+    private final Map<Long, Long> lastNotifiedAt = new ConcurrentHashMap<>();
+    private final Timer evaluationTimer;
+    private final Counter triggeredAlerts;
+    private final Counter droppedAlerts;
+    private final ThreadPoolExecutor notificationExecutor;
+    private final long cooldownMillis;
+    private final int historyDays;
+
+    private volatile Map<HistoryKey, NavigableMap<LocalDate, DailyPrice>> history = new ConcurrentHashMap<>();
+
+    public PriceAlertEngine(
+            PriceAlertRuleRepository ruleRepository,
+            MarketPriceDailyRollupRepository rollupRepository,
+            NotificationService notificationService,
+            MeterRegistry meterRegistry,
+            @Value("${bfpc.price-alerts.cooldown:21600000}") long cooldownMillis,
+            @Value("${bfpc.price-alerts.history-days:90}") int historyDays,
+            @Value("${bfpc.price-alerts.notification-queue-capacity:10000}") int notificationQueueCapacity
+    ) {
+        this.ruleRepository = ruleRepository;
+        this.rollupRepository = rollupRepository;
+        this.notificationService = notificationService;
+        this.cooldownMillis = cooldownMillis;
+        this.historyDays = historyDays;
+        this.evaluationTimer = Timer.builder("price.alerts.evaluation")
+                .description("Time to match one market price against the price alert rules")
+                .register(meterRegistry);
+        this.triggeredAlerts = Counter.builder("price.alerts.triggered")
+                .description("Price alert notifications sent")
+                .register(meterRegistry);
+        this.droppedAlerts = Counter.builder("price.alerts.dropped")
+                .description("Price alert notifications dropped because the notification queue was full")
+                .register(meterRegistry);
+        this.notificationExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(notificationQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "price-alert-notifications");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("price.alerts.rules", index, PriceAlertIndex::size)
+                .description("Number of active price alert rules")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load the active rules and the recent daily prices once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        index.replaceAll(ruleRepository.findAllActive().stream().map(PriceAlertEngine::toIndexedRule).toList());
+        reloadHistory();
+        log.info("Loaded {} price alert rules", index.size());
+    }
+
+    /**
+     * Stop delivering notifications.
+     */
+    @PreDestroy
+    public void shutdown() {
+        notificationExecutor.shutdownNow();
+    }
+
+    /**
+     * Apply a rule change to the index once it has been committed.
+     *
+     * @param event the rule change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceAlertRuleChanged(PriceAlertRuleChangedEvent event) {
+        if (event.rule() != null && event.rule().isActive()) {
+            index.put(toIndexedRule(event.rule()));
+        } else {
+            index.remove(event.ruleId());
+            lastNotifiedAt.remove(event.ruleId());
+        }
+    }
+
+    /**
+     * Evaluate committed market price writes.
+     *
+     * @param event the market price change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMarketPriceChanged(MarketPriceChangedEvent event) {
+        // The reload already contains the changed prices, so the prices they replace are taken beforehand
+        Map<HistoryKey, Map.Entry<LocalDate, DailyPrice>> previous = new HashMap<>();
+        for (MarketPriceDto price : event.changedPrices()) {
+            if (price.getMarketId() != null) {
+                NavigableMap<LocalDate, DailyPrice> days = history.get(historyKey(price));
+                if (days != null && !days.isEmpty()) {
+                    previous.put(historyKey(price), days.lastEntry());
+                }
+            }
+        }
+        if (event.bulk() || event.changedPrices().isEmpty()) {
+            reloadHistory();
+        }
+        for (MarketPriceDto price : event.changedPrices()) {
+            if (price.getMarketId() != null) {
+                evaluate(price, previous.get(historyKey(price)));
+            }
+        }
+    }
+
+    /**
+     * Get the number of days of prices kept for change alerts, the longest supported window.
+     *
+     * @return the number of days
+     */
+    public int getHistoryDays() {
+        return historyDays;
+    }
+
+    /**
+     * Convert a saved rule to its indexed form.
+     *
+     * @param rule the rule
+     * @return the indexed rule
+     */
+    static PriceAlertIndex.Rule toIndexedRule(PriceAlertRule rule) {
+        return new PriceAlertIndex.Rule(
+                rule.getId(),
+                rule.getUser().getId(),
+                rule.getCropType(),
+                rule.getMarket() != null ? rule.getMarket().getId() : null,
+                LocationNormalizer.normalize(rule.getLocation()),
+                rule.getAlertType(),
+                rule.getThreshold(),
+                rule.getWindowDays() != null ? rule.getWindowDays() : 0
+        );
+    }
+
+    /**
+     * Evaluate a committed price against the rules of its crop type and market.
+     *
+     * @param price the price, with a market
+     * @param previous the latest daily price of the crop type and market before the write, or null if none
+     */
+    private void evaluate(MarketPriceDto price, Map.Entry<LocalDate, DailyPrice> previous) {
+        LocalDate cutoff = LocalDate.now().minusDays(historyDays);
+        if (price.getPriceDate().isBefore(cutoff)) {
+            return;
+        }
+        Farmer.CropType cropType = Farmer.CropType.valueOf(price.getCropType());
+        NavigableMap<LocalDate, DailyPrice> days = history.computeIfAbsent(
+                historyKey(price), key -> new ConcurrentSkipListMap<>());
+        days.merge(price.getPriceDate(), new DailyPrice(price.getId(), price.getPrice()),
+                (current, candidate) -> candidate.id() >= current.id() ? candidate : current);
+        days.headMap(cutoff).clear();
+        if (days.lastKey().isAfter(price.getPriceDate())) {
+            // A backfilled price is not the current price, so it must not alert
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<PriceAlertIndex.Rule> matches = index.match(cropType, price.getMarketId(),
+                price.getLocation(), price.getPrice(),
+                windowDays -> percentageChange(days, price.getPriceDate(), price.getPrice(), windowDays));
+        // Rules that already held for the previous price stay silent until the price crosses back
+        Set<Long> alreadyMatched = Set.of();
+        if (previous != null && !matches.isEmpty()) {
+            LocalDate previousDate = previous.getKey();
+            BigDecimal previousPrice = previous.getValue().price();
+            alreadyMatched = index.match(cropType, price.getMarketId(), price.getLocation(), previousPrice,
+                            windowDays -> percentageChange(days, previousDate, previousPrice, windowDays))
+                    .stream()
+                    .map(PriceAlertIndex.Rule::id)
+                    .collect(Collectors.toSet());
+        }
+        evaluationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        long now = System.currentTimeMillis();
+        for (PriceAlertIndex.Rule rule : matches) {
+            if (!alreadyMatched.contains(rule.id()) && claimCooldown(rule.id(), now)) {
+                notify(rule, price, days);
+            }
+        }
+    }
+
+    /**
+     * Record that a rule fires now, unless it already fired within the cooldown period.
+     *
+     * @param ruleId the rule ID
+     * @param now the current time in milliseconds
+     * @return true if the rule may notify
+     */
+    private boolean claimCooldown(long ruleId, long now) {
+        Long last = lastNotifiedAt.get(ruleId);
+        if (last == null) {
+            return lastNotifiedAt.putIfAbsent(ruleId, now) == null;
+        }
+        return now - last >= cooldownMillis && lastNotifiedAt.replace(ruleId, last, now);
+    }
+
+    private void notify(PriceAlertIndex.Rule rule, MarketPriceDto price, NavigableMap<LocalDate, DailyPrice> days) {
+        String crop = displayName(price.getCropType());
+        String place = price.getMarketName() != null ? price.getMarketName() + " market" : price.getLocation();
+        boolean rising = rule.alertType() == PriceAlertRule.AlertType.PRICE_ABOVE
+                || rule.alertType() == PriceAlertRule.AlertType.CHANGE_ABOVE;
+        String message = switch (rule.alertType()) {
+            case PRICE_ABOVE, PRICE_BELOW -> String.format("%s is %s per %s in %s, %s your alert price of %s",
+                    crop, price.getPrice().toPlainString(), price.getUnit(), place,
+                    rising ? "at or above" : "at or below", rule.threshold().toPlainString());
+            case CHANGE_ABOVE, CHANGE_BELOW -> String.format("%s prices have %s by %s%% in %s over %d days",
+                    crop, rising ? "increased" : "decreased", formatChange(days, price, rule.windowDays()),
+                    place, rule.windowDays());
+        };
+        NotificationDto notification = new NotificationDto(
+                null, String.valueOf(rule.userId()), "Market Price Alert", message,
+                rising ? "success" : "warning", null, null, "/dashboard", rising ? "📈" : "📉"
+        );
+        try {
+            notificationExecutor.execute(() -> notificationService.createNotification(notification));
+            triggeredAlerts.increment();
+        } catch (RejectedExecutionException e) {
+            droppedAlerts.increment();
+            log.warn("Dropped price alert notification for rule {}, the notification queue is full", rule.id());
+        }
+    }
+
+    /**
+     * Calculate the change of a price against the last known price at least the given number of days earlier.
+     *
+     * @param days the daily prices of the price's crop type and market
+     * @param date the date of the price
+     * @param price the price
+     * @param windowDays the number of days
+     * @return the change in percent rounded to two decimals, or null if there is no earlier price
+     */
+    private BigDecimal percentageChange(NavigableMap<LocalDate, DailyPrice> days, LocalDate date, BigDecimal price,
+                                        int windowDays) {
+        Map.Entry<LocalDate, DailyPrice> reference = days.floorEntry(date.minusDays(windowDays));
+        if (reference == null || reference.getValue().price().signum() == 0) {
+            return null;
+        }
+        BigDecimal from = reference.getValue().price();
+        return price.subtract(from).multiply(HUNDRED).divide(from, 2, RoundingMode.HALF_UP);
+    }
+
+    private String formatChange(NavigableMap<LocalDate, DailyPrice> days, MarketPriceDto price, int windowDays) {
+        BigDecimal change = percentageChange(days, price.getPriceDate(), price.getPrice(), windowDays);
+        return change != null ? change.abs().stripTrailingZeros().toPlainString() : "?";
+    }
+
+    /**
+     * Replace the recent daily prices with the current daily rollup.
+     */
+    private void reloadHistory() {
+        Map<HistoryKey, NavigableMap<LocalDate, DailyPrice>> reloaded = new ConcurrentHashMap<>();
+        for (MarketPriceDailyRollup day : rollupRepository.findAllSince(LocalDate.now().minusDays(historyDays))) {
+            reloaded.computeIfAbsent(new HistoryKey(day.getCropType(), day.getMarket().getId()),
+                            key -> new ConcurrentSkipListMap<>())
+                    .put(day.getPriceDate(), new DailyPrice(day.getLastPriceId(), day.getLastPrice()));
+        }
+        history = reloaded;
+    }
+
+    private static HistoryKey historyKey(MarketPriceDto price) {
+        return new HistoryKey(Farmer.CropType.valueOf(price.getCropType()), price.getMarketId());
+    }
+
+    private static String displayName(String cropType) {
+        String name = cropType.replace('_', ' ').toLowerCase(Locale.ROOT);
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Identifies the daily prices of one crop type in one market.
+     */
+    private record HistoryKey(Farmer.CropType cropType, Long marketId) {
+    }
+
+    /**
+     * The last price of a day and the ID of the market price that set it; later IDs win.
+     */
+    private record DailyPrice(Long id, BigDecimal price) {
+    }
+}
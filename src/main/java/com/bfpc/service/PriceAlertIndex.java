@@ -0,0 +1,229 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.entity.Farmer;
+import com.bfpc.domain.entity.PriceAlertRule;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.IntFunction;
+
+/**
+ * In-memory index of active price alert rules.
+ * Rules are grouped by crop type, then by scope (one market, one location or everywhere), then held in
+ * maps sorted by threshold, so matching a price visits only the three scopes it belongs to and only the
+ * thresholds it crosses, however many rules exist. Reads are lock-free; writes are serialized.
+ */
+public class PriceAlertIndex {
+
+    private static final String ANY_SCOPE = "*";
+
+    private final Map<Farmer.CropType, Map<String, Bucket>> buckets = new EnumMap<>(Farmer.CropType.class);
+    private final Map<Long, Rule> rules = new ConcurrentHashMap<>();
+
+    public PriceAlertIndex() {
+        for (Farmer.CropType cropType : Farmer.CropType.values()) {
+            buckets.put(cropType, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Add a rule, replacing any previous version of it.
+     *
+     * @param rule the rule
+     */
+    public synchronized void put(Rule rule) {
+        remove(rule.id());
+        rules.put(rule.id(), rule);
+        buckets.get(rule.cropType())
+                .computeIfAbsent(scopeOf(rule), scope -> new Bucket())
+                .thresholds(rule.alertType(), rule.windowDays(), true)
+                .computeIfAbsent(rule.key(), key -> ConcurrentHashMap.newKeySet())
+                .add(rule);
+    }
+
+    /**
+     * Remove a rule.
+     *
+     * @param ruleId the rule ID
+     * @return true if the rule was indexed
+     */
+    public synchronized boolean remove(long ruleId) {
+        Rule rule = rules.remove(ruleId);
+        if (rule == null) {
+            return false;
+        }
+        Bucket bucket = buckets.get(rule.cropType()).get(scopeOf(rule));
+        NavigableMap<BigDecimal, Set<Rule>> thresholds = bucket.thresholds(rule.alertType(), rule.windowDays(), false);
+        Set<Rule> sameThreshold = thresholds.get(rule.key());
+        sameThreshold.remove(rule);
+        if (sameThreshold.isEmpty()) {
+            thresholds.remove(rule.key());
+            if (thresholds.isEmpty()) {
+                bucket.removeWindow(rule.alertType(), rule.windowDays());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace all rules.
+     *
+     * @param newRules the rules
+     */
+    public synchronized void replaceAll(Collection<Rule> newRules) {
+        rules.clear();
+        buckets.values().forEach(Map::clear);
+        newRules.forEach(this::put);
+    }
+
+    /**
+     * Get the number of indexed rules.
+     *
+     * @return the number of rules
+     */
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * Find the rules a price satisfies.
+     *
+     * @param cropType the crop type of the price
+     * @param marketId the market ID of the price
+     * @param location the normalized location of the price, or null if unknown
+     * @param price the price
+     * @param changeOverDays the percentage change of the price over a number of days, or null if unknown
+     * @return the matching rules
+     */
+    public List<Rule> match(Farmer.CropType cropType, Long marketId, String location, BigDecimal price,
+                            IntFunction<BigDecimal> changeOverDays) {
+        Map<String, Bucket> byScope = buckets.get(cropType);
+        List<Rule> matches = new ArrayList<>();
+        collect(byScope.get(ANY_SCOPE), price, changeOverDays, matches);
+        if (marketId != null) {
+            collect(byScope.get(marketScope(marketId)), price, changeOverDays, matches);
+        }
+        if (location != null) {
+            collect(byScope.get(locationScope(location)), price, changeOverDays, matches);
+        }
+        return matches;
+    }
+
+    private void collect(Bucket bucket, BigDecimal price, IntFunction<BigDecimal> changeOverDays, List<Rule> matches) {
+        if (bucket == null) {
+            return;
+        }
+        // Above rules fire for thresholds at or below the value, below rules for thresholds at or above it
+        addAll(bucket.priceAbove.headMap(price, true), matches);
+        addAll(bucket.priceBelow.tailMap(price, true), matches);
+        for (Map.Entry<Integer, NavigableMap<BigDecimal, Set<Rule>>> window : bucket.changeAbove.entrySet()) {
+            BigDecimal change = changeOverDays.apply(window.getKey());
+            if (change != null) {
+                addAll(window.getValue().headMap(change, true), matches);
+            }
+        }
+        for (Map.Entry<Integer, NavigableMap<BigDecimal, Set<Rule>>> window : bucket.changeBelow.entrySet()) {
+            BigDecimal change = changeOverDays.apply(window.getKey());
+            if (change != null) {
+                addAll(window.getValue().tailMap(change, true), matches);
+            }
+        }
+    }
+
+    private static void addAll(NavigableMap<BigDecimal, Set<Rule>> thresholds, List<Rule> matches) {
+        for (Set<Rule> sameThreshold : thresholds.values()) {
+            matches.addAll(sameThreshold);
+        }
+    }
+
+    private static String scopeOf(Rule rule) {
+        if (rule.marketId() != null) {
+            return marketScope(rule.marketId());
+        }
+        return rule.location() != null ? locationScope(rule.location()) : ANY_SCOPE;
+    }
+
+    private static String marketScope(long marketId) {
+        return "m:" + marketId;
+    }
+
+    private static String locationScope(String location) {
+        return "l:" + location;
+    }
+
+    /**
+     * An indexed rule.
+     *
+     * @param id the rule ID
+     * @param userId the ID of the user to notify
+     * @param cropType the crop type
+     * @param marketId the market ID, or null
+     * @param location the normalized location, or null
+     * @param alertType the alert condition
+     * @param threshold the price, or the percentage for change alerts
+     * @param windowDays the change window in days, 0 for price alerts
+     */
+    public record Rule(
+            long id,
+            long userId,
+            Farmer.CropType cropType,
+            Long marketId,
+            String location,
+            PriceAlertRule.AlertType alertType,
+            BigDecimal threshold,
+            int windowDays
+    ) {
+
+        /**
+         * Get the key the rule is sorted by; falls are stored as negative changes.
+         *
+         * @return the sort key
+         */
+        private BigDecimal key() {
+            return alertType == PriceAlertRule.AlertType.CHANGE_BELOW ? threshold.negate() : threshold;
+        }
+    }
+
+    /**
+     * The rules of one crop type and scope, sorted by threshold per condition and change window.
+     */
+    private static final class Bucket {
+
+        private final NavigableMap<BigDecimal, Set<Rule>> priceAbove = new ConcurrentSkipListMap<>();
+        private final NavigableMap<BigDecimal, Set<Rule>> priceBelow = new ConcurrentSkipListMap<>();
+        private final Map<Integer, NavigableMap<BigDecimal, Set<Rule>>> changeAbove = new ConcurrentHashMap<>();
+        private final Map<Integer, NavigableMap<BigDecimal, Set<Rule>>> changeBelow = new ConcurrentHashMap<>();
+
+        private NavigableMap<BigDecimal, Set<Rule>> thresholds(PriceAlertRule.AlertType alertType, int windowDays,
+                                                               boolean create) {
+            return switch (alertType) {
+                case PRICE_ABOVE -> priceAbove;
+                case PRICE_BELOW -> priceBelow;
+                case CHANGE_ABOVE -> window(changeAbove, windowDays, create);
+                case CHANGE_BELOW -> window(changeBelow, windowDays, create);
+            };
+        }
+
+        private void removeWindow(PriceAlertRule.AlertType alertType, int windowDays) {
+            if (alertType == PriceAlertRule.AlertType.CHANGE_ABOVE) {
+                changeAbove.remove(windowDays);
+            } else if (alertType == PriceAlertRule.AlertType.CHANGE_BELOW) {
+                changeBelow.remove(windowDays);
+            }
+        }
+
+        private static NavigableMap<BigDecimal, Set<Rule>> window(
+                Map<Integer, NavigableMap<BigDecimal, Set<Rule>>> windows, int windowDays, boolean create) {
+            return create ? windows.computeIfAbsent(windowDays, days -> new ConcurrentSkipListMap<>())
+                    : windows.get(windowDays);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.entity.PriceAlertRule;
+
+/**
+ * Event published when a price alert rule is created, updated or deleted.
+ * The alert index applies the change after the writing transaction commits.
+ *
+ * @param ruleId the rule ID
+ * @param rule the saved rule, or null if it was deleted
+ */
+public record PriceAlertRuleChangedEvent(Long ruleId, PriceAlertRule rule) {
+}
@@ -0,0 +1,56 @@
+package com.bfpc.service;
+
+import com.bfpc.dto.PriceAlertRuleDto;
+
+import java.util.List;
+
+/**
+ * Service interface for managing a user's price alert rules.
+ * Rules of other users are reported as not found.
+ */
+public interface PriceAlertRuleService {
+
+    /**
+     * Get the rules of a user.
+     *
+     * @param userId the user ID
+     * @return the rules
+     */
+    List<PriceAlertRuleDto> getRules(Long userId);
+
+    /**
+     * Get a rule of a user.
+     *
+     * @param userId the user ID
+     * @param id the rule ID
+     * @return the rule
+     */
+    PriceAlertRuleDto getRule(Long userId, Long id);
+
+    /**
+     * Create a rule for a user.
+     *
+     * @param userId the user ID
+     * @param ruleDto the rule to create
+     * @return the created rule
+     */
+    PriceAlertRuleDto createRule(Long userId, PriceAlertRuleDto ruleDto);
+
+    /**
+     * Update a rule of a user.
+     *
+     * @param userId the user ID
+     * @param id the rule ID
+     * @param ruleDto the updated rule
+     * @return the updated rule
+     */
+    PriceAlertRuleDto updateRule(Long userId, Long id, PriceAlertRuleDto ruleDto);
+
+    /**
+     * Delete a rule of a user.
+     *
+     * @param userId the user ID
+     * @param id the rule ID
+     */
+    void deleteRule(Long userId, Long id);
+}
@@ -0,0 +1,12 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.entity.Role;
+
+/**
+ * Event published by services when a role is created, updated or deleted.
+ * The role registry reloads after the writing transaction commits.
+ *
+ * @param name the name of the changed role
+ */
+public record RoleChangedEvent(Role.RoleName name) {
+}
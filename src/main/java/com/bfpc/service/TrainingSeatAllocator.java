@@ -0,0 +1,145 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.entity.TrainingRegistrationRequest;
+import com.bfpc.dto.NotificationDto;
+import com.bfpc.repository.TrainingRegistrationRequestRepository;
+import com.bfpc.repository.TrainingRepository;
+import com.bfpc.repository.WaitingRegistration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Background allocator seating waiting training registration requests.
+ * Registrations only append to the waitlist, so a burst of requests never contends on the seat counter;
+ * the allocator seats them in arrival order, one batch per transaction, and notifies the farmers.
+ */
+@Slf4j
+@Component
+public class TrainingSeatAllocator {
+
+    private final TrainingRepository trainingRepository;
+    private final TrainingSeatReservation seatReservation;
+    private final TrainingRegistrationRequestRepository requestRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TrainingSeatAllocator(
+            TrainingRepository trainingRepository,
+            TrainingSeatReservation seatReservation,
+            TrainingRegistrationRequestRepository requestRepository,
+            NotificationService notificationService,
+            PlatformTransactionManager transactionManager,
+            @Value("${bfpc.trainings.allocation.batch-size:100}") int batchSize
+    ) {
+        this.trainingRepository = trainingRepository;
+        this.seatReservation = seatReservation;
+        this.requestRepository = requestRepository;
+        this.notificationService = notificationService;
+        // Always a transaction of its own, also when called after another transaction committed
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Seat waiting requests of every training with free seats.
+     */
+    @Scheduled(fixedDelayString = "${bfpc.trainings.allocation.interval:1000}")
+    public void allocateWaitingRegistrations() {
+        for (Long trainingId : requestRepository.findTrainingIdsWithFreeSeats()) {
+            allocate(trainingId);
+        }
+    }
+
+    /**
+     * Promote waiting requests as soon as a registration is cancelled.
+     *
+     * @param event the seat released event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSeatReleased(TrainingSeatReleasedEvent event) {
+        allocate(event.trainingId());
+    }
+
+    /**
+     * Seat waiting requests of a training until it is full or the waitlist is empty.
+     *
+     * @param trainingId the training ID
+     */
+    public void allocate(Long trainingId) {
+        Batch batch;
+        do {
+            batch = transactionTemplate.execute(status -> allocateBatch(trainingId));
+            if (!batch.seated().isEmpty()) {
+                String title = trainingRepository.findTitleById(trainingId).orElse("the training");
+                batch.seated().forEach(request -> notifySeated(trainingId, title, request));
+                log.debug("Seated {} waiting registrations for training {}", batch.seated().size(), trainingId);
+            }
+        } while (batch.more());
+    }
+
+    /**
+     * Seat the earliest waiting requests of a training, up to the batch size.
+     *
+     * @param trainingId the training ID
+     * @return the seated requests and whether more requests may be seated
+     */
+    private Batch allocateBatch(Long trainingId) {
+        List<WaitingRegistration> waiting = requestRepository.lockWaiting(trainingId, batchSize);
+        List<WaitingRegistration> seated = new ArrayList<>();
+        List<Long> rejected = new ArrayList<>();
+        boolean full = false;
+        for (WaitingRegistration request : waiting) {
+            TrainingSeatReservation.Result result = seatReservation.reserve(trainingId, request.getFarmerId());
+            if (result == TrainingSeatReservation.Result.FULL) {
+                full = true;
+                break;
+            }
+            if (result == TrainingSeatReservation.Result.ALREADY_REGISTERED) {
+                // Seated by an earlier request of the farmer that was allocated while this one was queued
+                rejected.add(request.getId());
+                continue;
+            }
+            seated.add(request);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!seated.isEmpty()) {
+            requestRepository.updateStatus(seated.stream().map(WaitingRegistration::getId).toList(),
+                    TrainingRegistrationRequest.Status.REGISTERED, now);
+        }
+        if (!rejected.isEmpty()) {
+            requestRepository.updateStatus(rejected, TrainingRegistrationRequest.Status.REJECTED, now);
+        }
+        return new Batch(seated, !full && waiting.size() == batchSize);
+    }
+
+    /**
+     * Notify a farmer of the seat allocated to them.
+     *
+     * @param trainingId the training ID
+     * @param title the training title
+     * @param request the seated request
+     */
+    private void notifySeated(Long trainingId, String title, WaitingRegistration request) {
+        notificationService.createNotification(new NotificationDto(
+                null, String.valueOf(request.getUserId()), "Training Registration",
+                "You have a seat at " + title, "success", null, null, "/trainings/" + trainingId, "🎓"
+        ));
+    }
+
+    private record Batch(List<WaitingRegistration> seated, boolean more) {
+    }
+}
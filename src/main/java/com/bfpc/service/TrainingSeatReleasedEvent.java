@@ -0,0 +1,10 @@
+package com.bfpc.service;
+
+/**
+ * Event published when a registration is cancelled and its seat released.
+ * The seat allocator promotes the next waiting request after the cancelling transaction commits.
+ *
+ * @param trainingId the training ID
+ */
+public record TrainingSeatReleasedEvent(Long trainingId) {
+}
@@ -0,0 +1,52 @@
+package com.bfpc.service;
+
+import com.bfpc.domain.repository.FarmerRepository;
+import com.bfpc.repository.TrainingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Seats farmers in trainings, the only place that claims training seats.
+ * The seat counter is claimed first: its row lock orders concurrent reservations for the training, and
+ * the conditional update never exceeds the capacity. Outcomes are returned rather than thrown, so a
+ * caller seating many farmers in one transaction can continue after a failed reservation.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrainingSeatReservation {
+
+    private final TrainingRepository trainingRepository;
+    private final FarmerRepository farmerRepository;
+
+    /**
+     * Seat a farmer in a training, in the caller's transaction.
+     *
+     * @param trainingId the training ID
+     * @param farmerId the farmer ID
+     * @return the outcome of the reservation
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Result reserve(Long trainingId, Long farmerId) {
+        if (trainingRepository.reserveSeat(trainingId) == 0) {
+            return Result.FULL;
+        }
+        // The unique attendee key rejects duplicates; the seat goes back to the training
+        if (trainingRepository.insertAttendee(trainingId, farmerId) == 0) {
+            trainingRepository.releaseSeat(trainingId);
+            return Result.ALREADY_REGISTERED;
+        }
+        farmerRepository.incrementTrainingSessionsAttended(farmerId);
+        return Result.RESERVED;
+    }
+
+    /**
+     * Outcome of a seat reservation.
+     */
+    public enum Result {
+        RESERVED,
+        FULL,
+        ALREADY_REGISTERED
+    }
+}
@@ -1,9 +1,13 @@
 package com.bfpc.service;
 
 import com.bfpc.dto.TrainingDto;
+import com.bfpc.dto.TrainingRegistrationDto;
 import com.bfpc.dto.UserDto;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.repository.PageTotal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
 
@@ -14,11 +18,22 @@ public interface TrainingService {
 
     /**
      * Get all trainings with pagination.
+     * Without a total no count query runs; the slice only tells whether a next page exists.
      *
      * @param pageable the pagination information
-     * @return a page of trainings
+     * @param total how to compute the total number of trainings
+     * @return a page of trainings, or a slice without a total
+     */
+    Slice<TrainingDto> getAllTrainings(Pageable pageable, PageTotal total);
+
+    /**
+     * Get all trainings with keyset pagination, latest start first.
+     *
+     * @param cursor the cursor of the previous slice, or empty for the first slice
+     * @param size the slice size
+     * @return a slice of trainings
      */
-    Page<TrainingDto> getAllTrainings(Pageable pageable);
+    KeysetSlice<TrainingDto> getAllTrainings(String cursor, int size);
 
     /**
      * Get a training by ID.
@@ -81,25 +96,37 @@ public interface TrainingService {
     Page<TrainingDto> getTrainingsByLocation(String location, Pageable pageable);
 
     /**
-     * Register a farmer for a training.
+     * Put a farmer on the waitlist of a training.
+     * The request is seated in arrival order by the seat allocator, which notifies the farmer.
      *
      * @param trainingId the training ID
      * @param farmerId the farmer ID
-     * @return the updated training
+     * @return the waiting request
      */
-    TrainingDto registerFarmerForTraining(Long trainingId, Long farmerId);
+    TrainingRegistrationDto requestRegistration(Long trainingId, Long farmerId);
 
     /**
-     * Cancel a farmer's registration for a training.
+     * Get the status of a registration request.
+     *
+     * @param trainingId the training ID
+     * @param requestId the request ID
+     * @return the request
+     */
+    TrainingRegistrationDto getRegistrationRequest(Long trainingId, Long requestId);
+
+    /**
+     * Cancel a farmer's registration for a training, or withdraw the farmer from the waitlist.
+     * A released seat goes to the next waiting request.
      *
      * @param trainingId the training ID
      * @param farmerId the farmer ID
-     * @return the updated training
+     * @return the cancelled registration
      */
-    TrainingDto cancelTrainingRegistration(Long trainingId, Long farmerId);
+    TrainingRegistrationDto cancelTrainingRegistration(Long trainingId, Long farmerId);
 
     /**
-     * Get registered farmers for a training.
+     * Get registered farmers for a training, in registration order of the farmers.
+     * The sort of the pagination information is ignored.
      *
      * @param trainingId the training ID
      * @param pageable the pagination information
@@ -1,8 +1,11 @@
 package com.bfpc.service;
 
 import com.bfpc.dto.TransactionDto;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.repository.PageTotal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,11 +17,22 @@ public interface TransactionService {
 
     /**
      * Get all transactions with pagination.
+     * Without a total no count query runs; the slice only tells whether a next page exists.
      *
      * @param pageable the pagination information
-     * @return a page of transactions
+     * @param total how to compute the total number of transactions
+     * @return a page of transactions, or a slice without a total
+     */
+    Slice<TransactionDto> getAllTransactions(Pageable pageable, PageTotal total);
+
+    /**
+     * Get all transactions with keyset pagination, newest first.
+     *
+     * @param cursor the cursor of the previous slice, or empty for the first slice
+     * @param size the slice size
+     * @return a slice of transactions
      */
-    Page<TransactionDto> getAllTransactions(Pageable pageable);
+    KeysetSlice<TransactionDto> getAllTransactions(String cursor, int size);
 
     /**
      * Get a transaction by ID.
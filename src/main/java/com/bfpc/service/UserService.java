@@ -2,11 +2,13 @@ package com.bfpc.service;
 
 import com.bfpc.domain.entity.Role;
 import com.bfpc.domain.entity.User;
-import com.bfpc.domain.repository.RoleRepository;
 import com.bfpc.domain.repository.UserRepository;
 import com.bfpc.dto.UserDto;
 import com.bfpc.exception.ResourceNotFoundException;
 import com.bfpc.mapper.UserMapper;
+import com.bfpc.security.CachingUserDetailsService;
+import com.bfpc.security.RoleRegistry;
+import com.bfpc.security.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -24,9 +26,11 @@ import java.util.Set;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final TokenRevocationService tokenRevocationService;
+    private final CachingUserDetailsService userDetailsCache;
 
     /**
      * Create a new user.
@@ -60,39 +64,14 @@ public class UserService {
         Set<Role> roles = new HashSet<>();
         if (userDto.getRoles() != null && !userDto.getRoles().isEmpty()) {
             userDto.getRoles().forEach(roleName -> {
-                Role role = roleRepository.findByName(Role.RoleName.valueOf(roleName))
+                Role role = roleRegistry.findByName(Role.RoleName.valueOf(roleName))
                         .orElseThrow(() -> new ResourceNotFoundException("Role not found: " + roleName));
                 roles.add(role);
             });
         } else {
             // Assign default role based on user type
-            Role defaultRole;
-            switch (user.getUserType()) {
-                case FARMER:
-                    defaultRole = roleRepository.findByName(Role.RoleName.ROLE_FARMER)
-                            .orElseThrow(() -> new ResourceNotFoundException("Default role not found"));
-                    break;
-                case BUYER:
-                    defaultRole = roleRepository.findByName(Role.RoleName.ROLE_BUYER)
-                            .orElseThrow(() -> new ResourceNotFoundException("Default role not found"));
-                    break;
-                case ADMIN:
-                    defaultRole = roleRepository.findByName(Role.RoleName.ROLE_ADMIN)
-                            .orElseThrow(() -> new ResourceNotFoundException("Default role not found"));
-                    break;
-                case EXTENSION_OFFICER:
-                    defaultRole = roleRepository.findByName(Role.RoleName.ROLE_EXTENSION_OFFICER)
-                            .orElseThrow(() -> new ResourceNotFoundException("Default role not found"));
-                    break;
-                case NGO_PARTNER:
-                case GOVERNMENT_PARTNER:
-                    defaultRole = roleRepository.findByName(Role.RoleName.ROLE_NGO_PARTNER)
-                            .orElseThrow(() -> new ResourceNotFoundException("Default role not found"));
-                    break;
-                default:
-                    throw new IllegalArgumentException("Invalid user type");
-            }
-            roles.add(defaultRole);
+            roles.add(roleRegistry.findDefault(user.getUserType())
+                    .orElseThrow(() -> new ResourceNotFoundException("Default role not found")));
         }
         user.setRoles(roles);
 
@@ -164,6 +143,10 @@ public class UserService {
             throw new IllegalArgumentException("Phone number already in use");
         }
 
+        // Tokens carry the email as subject, so changing it or the password invalidates them
+        String previousEmail = existingUser.getEmail();
+        boolean credentialsChanged = !previousEmail.equals(userDto.getEmail());
+
         // Update user fields
         existingUser.setFirstName(userDto.getFirstName());
         existingUser.setLastName(userDto.getLastName());
@@ -177,10 +160,16 @@ public class UserService {
         // Update password if provided
         if (userDto.getPassword() != null && !userDto.getPassword().isEmpty()) {
             existingUser.setPassword(passwordEncoder.encode(userDto.getPassword()));
+            credentialsChanged = true;
         }
 
         // Save updated user
         User updatedUser = userRepository.save(existingUser);
+        if (credentialsChanged) {
+            tokenRevocationService.revokeTokens(id);
+        }
+        userDetailsCache.evict(previousEmail);
+        userDetailsCache.evict(updatedUser.getEmail());
 
         // Map entity to DTO and return
         return userMapper.toDto(updatedUser);
@@ -193,10 +182,11 @@ public class UserService {
      */
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        userRepository.delete(user);
+        tokenRevocationService.evict(id);
+        userDetailsCache.evict(user.getEmail());
     }
 
     /**
@@ -220,6 +210,8 @@ public class UserService {
         // Update password
         user.setPassword(passwordEncoder.encode(newPassword));
         User updatedUser = userRepository.save(user);
+        tokenRevocationService.revokeTokens(id);
+        userDetailsCache.evict(updatedUser.getEmail());
 
         return userMapper.toDto(updatedUser);
     }
@@ -1,6 +1,7 @@
 package com.bfpc.service;
 
 import com.bfpc.domain.entity.YieldData;
+import com.bfpc.repository.KeysetSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -61,6 +62,16 @@ public interface YieldDataService {
      */
     Page<YieldData> getYieldDataByFarmerId(Long farmerId, Pageable pageable);
 
+    /**
+     * Get yield data by farmer ID with keyset pagination, latest harvest first.
+     *
+     * @param farmerId the farmer ID
+     * @param cursor the cursor of the previous slice, or empty for the first slice
+     * @param size the slice size
+     * @return a slice of yield data
+     */
+    KeysetSlice<YieldData> getYieldDataByFarmerId(Long farmerId, String cursor, int size);
+
     /**
      * Get yield data by crop type.
      *
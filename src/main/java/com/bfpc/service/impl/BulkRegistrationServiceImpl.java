@@ -0,0 +1,229 @@
+package com.bfpc.service.impl;
+
+import com.bfpc.domain.entity.Farmer;
+import com.bfpc.domain.entity.Role;
+import com.bfpc.domain.entity.User;
+import com.bfpc.domain.repository.FarmerRepository;
+import com.bfpc.domain.repository.UserRepository;
+import com.bfpc.dto.BulkRegistrationRequest;
+import com.bfpc.dto.BulkRegistrationResponse;
+import com.bfpc.dto.FarmerRegistrationRequest;
+import com.bfpc.security.CachingUserDetailsService;
+import com.bfpc.security.PasswordHashingService;
+import com.bfpc.security.RoleRegistry;
+import com.bfpc.service.BulkRegistrationService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the BulkRegistrationService interface.
+ * A batch costs two set-based existence queries, one parallel hashing pass and chunked inserts,
+ * instead of two lookups, one hash and one insert per farmer.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkRegistrationServiceImpl implements BulkRegistrationService {
+
+    private final UserRepository userRepository;
+    private final FarmerRepository farmerRepository;
+    private final RoleRegistry roleRegistry;
+    private final PasswordHashingService passwordHashingService;
+    private final CachingUserDetailsService userDetailsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public CompletableFuture<BulkRegistrationResponse> registerFarmers(BulkRegistrationRequest request) {
+        List<FarmerRegistrationRequest> rows = request.getFarmers();
+        List<BulkRegistrationResponse.RowResult> results = new ArrayList<>(rows.size());
+        Map<Integer, Set<Farmer.CropType>> cropTypesByRow = new HashMap<>();
+
+        // Validate each row on its own, then reject duplicates within the batch
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> batchPhoneNumbers = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            FarmerRegistrationRequest row = rows.get(i);
+            List<String> errors = new ArrayList<>();
+            if (row == null) {
+                errors.add("Row is empty");
+            } else {
+                for (ConstraintViolation<FarmerRegistrationRequest> violation : validator.validate(row)) {
+                    errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+                try {
+                    cropTypesByRow.put(i, parseCropTypes(row.getCropTypes()));
+                } catch (IllegalArgumentException e) {
+                    errors.add(e.getMessage());
+                }
+                if (row.getEmail() != null && !batchEmails.add(row.getEmail())) {
+                    errors.add("Email is duplicated in this batch");
+                }
+                if (row.getPhoneNumber() != null && !batchPhoneNumbers.add(row.getPhoneNumber())) {
+                    errors.add("Phone number is duplicated in this batch");
+                }
+            }
+            results.add(BulkRegistrationResponse.RowResult.builder()
+                    .row(i)
+                    .email(row != null ? row.getEmail() : null)
+                    .status(errors.isEmpty() ? BulkRegistrationResponse.Status.CREATED : BulkRegistrationResponse.Status.REJECTED)
+                    .errors(errors)
+                    .build());
+        }
+
+        // Check the whole batch against existing users with two queries
+        List<Integer> accepted = acceptedRows(results);
+        Set<String> existingEmails = accepted.isEmpty() ? Set.of() : userRepository.findExistingEmails(
+                accepted.stream().map(i -> rows.get(i).getEmail()).toList());
+        Set<String> existingPhoneNumbers = accepted.isEmpty() ? Set.of() : userRepository.findExistingPhoneNumbers(
+                accepted.stream().map(i -> rows.get(i).getPhoneNumber()).toList());
+        for (int i : accepted) {
+            if (existingEmails.contains(rows.get(i).getEmail())) {
+                reject(results.get(i), "Email already in use");
+            }
+            if (existingPhoneNumbers.contains(rows.get(i).getPhoneNumber())) {
+                reject(results.get(i), "Phone number already in use");
+            }
+        }
+
+        List<Integer> toCreate = acceptedRows(results);
+        if (toCreate.isEmpty()) {
+            return CompletableFuture.completedFuture(report(results));
+        }
+        Role farmerRole = roleRegistry.findDefault(User.UserType.FARMER)
+                .orElseThrow(() -> new IllegalArgumentException("Default role not found"));
+
+        return passwordHashingService.encodeAll(toCreate.stream().map(i -> rows.get(i).getPassword()).toList())
+                .thenApply(encodedPasswords -> {
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                saveRows(rows, toCreate, encodedPasswords, cropTypesByRow, farmerRole, results));
+                    } catch (DataIntegrityViolationException e) {
+                        throw new IllegalArgumentException(
+                                "Some farmers were registered concurrently, please retry the batch");
+                    }
+                    return report(results);
+                });
+    }
+
+    /**
+     * Insert the accepted rows in chunks of the JDBC batch size, clearing the persistence context
+     * after each chunk to keep memory flat.
+     */
+    private void saveRows(List<FarmerRegistrationRequest> rows, List<Integer> toCreate, List<String> encodedPasswords,
+                          Map<Integer, Set<Farmer.CropType>> cropTypesByRow, Role farmerRole,
+                          List<BulkRegistrationResponse.RowResult> results) {
+        for (int from = 0; from < toCreate.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, toCreate.size());
+            List<User> users = new ArrayList<>(to - from);
+            List<Farmer> farmers = new ArrayList<>(to - from);
+            for (int j = from; j < to; j++) {
+                int i = toCreate.get(j);
+                User user = toUser(rows.get(i), encodedPasswords.get(j), farmerRole);
+                users.add(user);
+                farmers.add(toFarmer(rows.get(i), user, cropTypesByRow.get(i)));
+            }
+            userRepository.saveAll(users);
+            // Flushed through the repository, so a concurrent duplicate raises DataIntegrityViolationException
+            farmerRepository.saveAllAndFlush(farmers);
+            entityManager.clear();
+
+            for (int j = from; j < to; j++) {
+                BulkRegistrationResponse.RowResult result = results.get(toCreate.get(j));
+                result.setUserId(users.get(j - from).getId());
+                result.setFarmerId(farmers.get(j - from).getId());
+                userDetailsCache.evict(users.get(j - from).getEmail());
+            }
+        }
+    }
+
+    private User toUser(FarmerRegistrationRequest row, String encodedPassword, Role farmerRole) {
+        return User.builder()
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .email(row.getEmail())
+                .phoneNumber(row.getPhoneNumber())
+                .password(encodedPassword)
+                .userType(User.UserType.FARMER)
+                .address(row.getAddress())
+                .localGovernmentArea(row.getLocalGovernmentArea())
+                .preferredLanguage(row.getPreferredLanguage())
+                .roles(new HashSet<>(Set.of(farmerRole)))
+                .enabled(true)
+                .accountNonLocked(true)
+                .accountNonExpired(true)
+                .credentialsNonExpired(true)
+                .build();
+    }
+
+    private Farmer toFarmer(FarmerRegistrationRequest row, User user, Set<Farmer.CropType> cropTypes) {
+        return Farmer.builder()
+                .user(user)
+                .farmSizeInHectares(row.getFarmSizeInHectares())
+                .farmLocation(row.getFarmLocation())
+                .farmGpsCoordinates(row.getFarmGpsCoordinates())
+                .cropTypes(cropTypes)
+                .soilType(row.getSoilType())
+                .yearsOfExperience(row.getYearsOfExperience())
+                .hasIrrigation(row.getHasIrrigation())
+                .primaryMarket(row.getPrimaryMarket())
+                .build();
+    }
+
+    private Set<Farmer.CropType> parseCropTypes(Set<String> cropTypes) {
+        if (cropTypes == null) {
+            return new HashSet<>();
+        }
+        Set<Farmer.CropType> parsed = new HashSet<>();
+        for (String cropType : cropTypes) {
+            try {
+                parsed.add(Farmer.CropType.valueOf(cropType.toUpperCase()));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Invalid crop type: " + cropType);
+            }
+        }
+        return parsed;
+    }
+
+    private List<Integer> acceptedRows(List<BulkRegistrationResponse.RowResult> results) {
+        return results.stream()
+                .filter(result -> result.getStatus() == BulkRegistrationResponse.Status.CREATED)
+                .map(BulkRegistrationResponse.RowResult::getRow)
+                .collect(Collectors.toList());
+    }
+
+    private void reject(BulkRegistrationResponse.RowResult result, String error) {
+        result.setStatus(BulkRegistrationResponse.Status.REJECTED);
+        result.getErrors().add(error);
+    }
+
+    private BulkRegistrationResponse report(List<BulkRegistrationResponse.RowResult> results) {
+        int created = (int) results.stream()
+                .filter(result -> result.getStatus() == BulkRegistrationResponse.Status.CREATED)
+                .count();
+        return BulkRegistrationResponse.builder()
+                .total(results.size())
+                .created(created)
+                .rejected(results.size() - created)
+                .results(results)
+                .build();
+    }
+}
@@ -1,16 +1,20 @@
 package com.bfpc.service.impl;
 
 import com.bfpc.domain.entity.Buyer;
+import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.User;
+import com.bfpc.domain.repository.BuyerRepository;
+import com.bfpc.domain.repository.UserRepository;
 import com.bfpc.dto.BuyerDto;
 import com.bfpc.exception.ResourceNotFoundException;
 import com.bfpc.mapper.BuyerMapper;
-import com.bfpc.repository.BuyerRepository;
-import com.bfpc.repository.UserRepository;
+import com.bfpc.repository.PageTotal;
 import com.bfpc.service.BuyerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,8 +33,8 @@ public class BuyerServiceImpl implements BuyerService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<BuyerDto> getAllBuyers(Pageable pageable) {
-        return buyerRepository.findAll(pageable)
+    public Slice<BuyerDto> getAllBuyers(Pageable pageable, PageTotal total) {
+        return buyerRepository.findAll(null, pageable, total)
                 .map(buyerMapper::toDto);
     }
 
@@ -71,8 +75,8 @@ public class BuyerServiceImpl implements BuyerService {
     @Transactional(readOnly = true)
     public Page<BuyerDto> getBuyersByCropInterest(String cropType, Pageable pageable) {
         try {
-            Buyer.CropType type = Buyer.CropType.valueOf(cropType.toUpperCase());
-            return buyerRepository.findByCropInterestsContaining(type, pageable)
+            Farmer.CropType type = Farmer.CropType.valueOf(cropType.toUpperCase());
+            return buyerRepository.findByCropInterest(type, pageable)
                     .map(buyerMapper::toDto);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid crop type: " + cropType);
@@ -82,7 +86,7 @@ public class BuyerServiceImpl implements BuyerService {
     @Override
     @Transactional(readOnly = true)
     public List<BuyerDto> getTopBuyersByRating(int limit) {
-        return buyerRepository.findTopBuyersByAverageRating(limit).stream()
+        return buyerRepository.findTopBuyersByRating(PageRequest.of(0, limit)).stream()
                 .map(buyerMapper::toDto)
                 .toList();
     }
@@ -90,7 +94,7 @@ public class BuyerServiceImpl implements BuyerService {
     @Override
     @Transactional(readOnly = true)
     public List<BuyerDto> getTopBuyersByTransactions(int limit) {
-        return buyerRepository.findTopBuyersBySuccessfulTransactions(limit).stream()
+        return buyerRepository.findTopBuyersByTransactions(PageRequest.of(0, limit)).stream()
                 .map(buyerMapper::toDto)
                 .toList();
     }
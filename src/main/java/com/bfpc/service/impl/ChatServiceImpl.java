@@ -1,85 +1,225 @@
 package com.bfpc.service.impl;
 
+import com.bfpc.domain.entity.ChatMessage;
+import com.bfpc.domain.entity.Conversation;
+import com.bfpc.domain.entity.ConversationParticipant;
+import com.bfpc.dto.ConversationDto;
 import com.bfpc.dto.MessageDto;
 import com.bfpc.dto.CommunityDto;
+import com.bfpc.exception.ResourceNotFoundException;
+import com.bfpc.repository.ChatMessageRepository;
+import com.bfpc.repository.ConversationParticipantRepository;
+import com.bfpc.repository.ConversationRepository;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.security.StompAuthenticationInterceptor;
+import com.bfpc.service.ChatMessageCache;
+import com.bfpc.service.ChatMessageWriter;
 import com.bfpc.service.ChatService;
+import com.bfpc.service.CommunityMembershipStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ChatServiceImpl implements ChatService {
 
-    // Mock data - in a real app, this would come from a database
-    private final List<CommunityDto> communities = initializeCommunities();
-    private final List<MessageDto> messages = new ArrayList<>();
+    private static final int MAX_CONTENT_LENGTH = 4000;
+    private static final int MAX_FIELD_LENGTH = 255; // the other text columns of chat_messages
+    private static final Sort.Order CONVERSATION_ORDER = Sort.Order.desc("lastMessageAt");
+
+    // Mock data - in a real app, this would come from a database; member counts and isJoined are
+    // derived per request from the membership store
+    private final Map<String, CommunityDto> communities = initializeCommunities().stream()
+            .collect(Collectors.toMap(CommunityDto::getId, c -> c, (a, b) -> a, LinkedHashMap::new));
+    private final CommunityMembershipStore membershipStore;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatMessageWriter chatMessageWriter;
+    private final ChatMessageCache chatMessageCache;
+    private final ConversationRepository conversationRepository;
+    private final ConversationParticipantRepository participantRepository;
+    private final SimpMessagingTemplate messagingTemplate;
 
     @Override
-    public List<CommunityDto> getAllCommunities() {
-        return new ArrayList<>(communities);
+    public List<CommunityDto> getAllCommunities(String userId) {
+        return communities.values().stream()
+                .map(community -> toView(community, userId))
+                .toList();
     }
 
     @Override
     public List<CommunityDto> getUserCommunities(String userId) {
-        // In a real app, filter by user's joined communities
-        return communities.stream()
-                .filter(CommunityDto::getIsJoined)
+        return membershipStore.communitiesOf(userId).stream()
+                .map(communities::get)
+                .filter(Objects::nonNull)
+                .map(community -> toView(community, userId))
                 .toList();
     }
 
     @Override
     public void joinCommunity(String communityId, String userId) {
-        communities.stream()
-                .filter(c -> c.getId().equals(communityId))
-                .findFirst()
-                .ifPresent(community -> {
-                    community.setIsJoined(true);
-                    community.setMemberCount(community.getMemberCount() + 1);
-                });
+        requireCommunity(communityId);
+        membershipStore.join(communityId, userId);
     }
 
     @Override
     public void leaveCommunity(String communityId, String userId) {
-        communities.stream()
-                .filter(c -> c.getId().equals(communityId))
-                .findFirst()
-                .ifPresent(community -> {
-                    community.setIsJoined(false);
-                    community.setMemberCount(Math.max(0, community.getMemberCount() - 1));
-                });
+        requireCommunity(communityId);
+        membershipStore.leave(communityId, userId);
     }
 
     @Override
-    public List<MessageDto> getMessages(String chatId) {
-        return messages.stream()
-                .filter(m -> m.getChatId().equals(chatId))
-                .toList();
+    public KeysetSlice<MessageDto> getMessages(String chatId, String userId, String cursor, int size) {
+        requireReadAccess(chatId, userId);
+        // Newest first, a slice at a time; the first slice comes from the chat's ring buffer
+        if ((cursor == null || cursor.isEmpty()) && size <= chatMessageCache.capacity()) {
+            return chatMessageCache.newest(chatId, size);
+        }
+        return chatMessageRepository.findSlice(
+                        (root, query, cb) -> cb.equal(root.get("chatId"), chatId),
+                        ChatMessageCache.MESSAGE_ORDER, cursor, size)
+                .map(ChatMessageCache::toDto);
+    }
+
+    @Override
+    public void requireReadAccess(String chatId, String userId) {
+        // Direct chat IDs can be derived from the two user IDs, so they are no secret
+        if (chatId.startsWith(Conversation.DIRECT_ID_PREFIX)
+                && !participantRepository.existsByConversationIdAndUserId(chatId, userId)) {
+            throw new AccessDeniedException("Not a participant of chat: " + chatId);
+        }
     }
 
     @Override
     public MessageDto sendMessage(MessageDto messageDto) {
-        messageDto.setId(UUID.randomUUID().toString());
-        messageDto.setTimestamp(LocalDateTime.now());
-        messages.add(messageDto);
-        
-        // In a real app, you would trigger Pusher event here
-        // pusher.trigger(channelName, "new-message", messageDto);
+        if (messageDto.getChatId() == null || messageDto.getChatId().isBlank()) {
+            throw new IllegalArgumentException("Chat ID is required");
+        }
+        if (messageDto.getSenderId() == null || messageDto.getSenderId().isBlank()) {
+            throw new IllegalArgumentException("Sender ID is required");
+        }
+        if (messageDto.getContent() == null || messageDto.getContent().isEmpty()) {
+            throw new IllegalArgumentException("Content is required");
+        }
+        if (messageDto.getContent().length() > MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("Content must be at most " + MAX_CONTENT_LENGTH + " characters");
+        }
+        requireFieldLength("Chat ID", messageDto.getChatId());
+        requireFieldLength("Sender ID", messageDto.getSenderId());
+        requireFieldLength("Sender name", messageDto.getSenderName());
+        requireFieldLength("Sender avatar", messageDto.getSenderAvatar());
+        requireFieldLength("Type", messageDto.getType());
+        // Only participants write to a direct chat, as only they read it
+        requireReadAccess(messageDto.getChatId(), messageDto.getSenderId());
+
+        ChatMessage message = ChatMessage.builder()
+                .id(UUID.randomUUID())
+                .chatId(messageDto.getChatId())
+                .senderId(messageDto.getSenderId())
+                .senderName(messageDto.getSenderName())
+                .senderAvatar(messageDto.getSenderAvatar())
+                .content(messageDto.getContent())
+                .type(messageDto.getType() != null ? messageDto.getType() : "text")
+                .sentAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)) // the precision of the column
+                .build();
+        // Written in the background with other messages, see ChatMessageWriter
+        chatMessageWriter.append(message);
+        chatMessageCache.append(ChatMessageCache.toDto(message));
+        messageDto.setId(message.getId().toString());
+        messageDto.setTimestamp(message.getSentAt());
+        messageDto.setType(message.getType());
+
+        // Deliver to the clients subscribed to the chat
+        messagingTemplate.convertAndSend(StompAuthenticationInterceptor.CHAT_TOPIC_PREFIX + message.getChatId(),
+                messageDto);
         
         return messageDto;
     }
 
     @Override
+    @Transactional
     public String startDirectChat(String userId, String participantId) {
-        // Generate a unique chat ID
-        String chatId = "direct-" + System.currentTimeMillis();
+        if (userId == null || userId.isBlank() || participantId == null || participantId.isBlank()) {
+            throw new IllegalArgumentException("User ID and participant ID are required");
+        }
+        if (userId.equals(participantId)) {
+            throw new IllegalArgumentException("A direct chat needs two different users");
+        }
+        // The same pair always gets the same chat, whoever starts it
+        String chatId = directChatId(userId, participantId);
+        LocalDateTime now = LocalDateTime.now();
+        conversationRepository.insertIfAbsent(chatId, Conversation.Type.DIRECT.name(), now);
+        participantRepository.insertIfAbsent(chatId, userId, participantId, now);
+        participantRepository.insertIfAbsent(chatId, participantId, userId, now);
         return chatId;
     }
 
+    @Override
+    public KeysetSlice<ConversationDto> getConversations(String userId, String cursor, int size) {
+        // Most recent first, served by the (user_id, last_message_at, id) index
+        return participantRepository.findSlice(
+                        (root, query, cb) -> cb.equal(root.get("userId"), userId),
+                        CONVERSATION_ORDER, cursor, size)
+                .map(this::toDto);
+    }
+
+    @Override
+    @Transactional
+    public void markConversationRead(String chatId, String userId) {
+        if (participantRepository.markRead(chatId, userId, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Conversation not found with id: " + chatId + " for user: " + userId);
+        }
+    }
+
+    private static String directChatId(String userId, String participantId) {
+        String first = userId.compareTo(participantId) < 0 ? userId : participantId;
+        String second = first.equals(userId) ? participantId : userId;
+        // A name-based UUID keeps the ID short and unambiguous whatever characters the user IDs contain
+        byte[] pair = (first + '\n' + second).getBytes(StandardCharsets.UTF_8);
+        return Conversation.DIRECT_ID_PREFIX + UUID.nameUUIDFromBytes(pair);
+    }
+
+    private ConversationDto toDto(ConversationParticipant participant) {
+        return new ConversationDto(participant.getConversationId(), participant.getPeerId(),
+                participant.getLastMessageAt(), participant.getUnreadCount());
+    }
+
+    private static void requireFieldLength(String field, String value) {
+        if (value != null && value.length() > MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException(field + " must be at most " + MAX_FIELD_LENGTH + " characters");
+        }
+    }
+
+    private void requireCommunity(String communityId) {
+        if (!communities.containsKey(communityId)) {
+            throw new ResourceNotFoundException("Community not found with id: " + communityId);
+        }
+    }
+
+    private CommunityDto toView(CommunityDto community, String userId) {
+        // The listed count stands for the members from before memberships were recorded
+        return new CommunityDto(
+                community.getId(), community.getName(), community.getDescription(), community.getLocation(),
+                community.getMemberCount() + membershipStore.memberCount(community.getId()),
+                community.getCategory(), community.getImage(),
+                userId != null && membershipStore.isMember(community.getId(), userId)
+        );
+    }
+
     private List<CommunityDto> initializeCommunities() {
         List<CommunityDto> initialCommunities = new ArrayList<>();
         
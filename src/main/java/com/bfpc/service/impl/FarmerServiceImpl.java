@@ -2,15 +2,20 @@ package com.bfpc.service.impl;
 
 import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.User;
+import com.bfpc.domain.repository.FarmerRepository;
+import com.bfpc.domain.repository.UserRepository;
 import com.bfpc.dto.FarmerDto;
 import com.bfpc.exception.ResourceNotFoundException;
 import com.bfpc.mapper.FarmerMapper;
-import com.bfpc.repository.FarmerRepository;
-import com.bfpc.repository.UserRepository;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.repository.PageTotal;
 import com.bfpc.service.FarmerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,14 +28,23 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FarmerServiceImpl implements FarmerService {
 
+    private static final Sort.Order KEYSET_ORDER = Sort.Order.asc("id");
+
     private final FarmerRepository farmerRepository;
     private final UserRepository userRepository;
     private final FarmerMapper farmerMapper;
 
     @Override
     @Transactional(readOnly = true)
-    public Page<FarmerDto> getAllFarmers(Pageable pageable) {
-        return farmerRepository.findAll(pageable)
+    public Slice<FarmerDto> getAllFarmers(Pageable pageable, PageTotal total) {
+        return farmerRepository.findAll(null, pageable, total)
+                .map(farmerMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetSlice<FarmerDto> getAllFarmers(String cursor, int size) {
+        return farmerRepository.findSlice(null, KEYSET_ORDER, cursor, size)
                 .map(farmerMapper::toDto);
     }
 
@@ -65,7 +79,7 @@ public class FarmerServiceImpl implements FarmerService {
     public Page<FarmerDto> getFarmersByCropType(String cropType, Pageable pageable) {
         try {
             Farmer.CropType type = Farmer.CropType.valueOf(cropType.toUpperCase());
-            return farmerRepository.findByCropTypesContaining(type, pageable)
+            return farmerRepository.findByCropType(type, pageable)
                     .map(farmerMapper::toDto);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid crop type: " + cropType);
@@ -75,14 +89,14 @@ public class FarmerServiceImpl implements FarmerService {
     @Override
     @Transactional(readOnly = true)
     public Page<FarmerDto> getFarmersByLocalGovernmentArea(String lga, Pageable pageable) {
-        return farmerRepository.findByLocalGovernmentAreaIgnoreCase(lga, pageable)
+        return farmerRepository.findByLocalGovernmentArea(lga, pageable)
                 .map(farmerMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<FarmerDto> getTopFarmersByAverageYield(int limit) {
-        return farmerRepository.findTopFarmersByAverageYieldPerHectare(limit).stream()
+        return farmerRepository.findTopFarmersByYield(PageRequest.of(0, limit)).stream()
                 .map(farmerMapper::toDto)
                 .toList();
     }
@@ -90,7 +104,7 @@ public class FarmerServiceImpl implements FarmerService {
     @Override
     @Transactional(readOnly = true)
     public Page<FarmerDto> getSponsorshipEligibleFarmers(Pageable pageable) {
-        return farmerRepository.findBySponsorshipEligibleTrue(pageable)
+        return farmerRepository.findByEligibleForSponsorshipTrue(pageable)
                 .map(farmerMapper::toDto);
     }
 
@@ -0,0 +1,277 @@
+package com.bfpc.service.impl;
+
+import com.bfpc.domain.entity.Farmer;
+import com.bfpc.domain.entity.Market;
+import com.bfpc.domain.entity.MarketPrice;
+import com.bfpc.dto.MarketPriceDto;
+import com.bfpc.dto.MarketPriceImportReport;
+import com.bfpc.repository.MarketPriceRepository;
+import com.bfpc.repository.MarketRepository;
+import com.bfpc.service.LocationNormalizer;
+import com.bfpc.service.MarketPriceChangedEvent;
+import com.bfpc.service.MarketPriceImportService;
+import com.bfpc.service.MarketPriceRollupService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the MarketPriceImportService interface.
+ * The upload is read line by line, markets are resolved from a map loaded once per import, and rows
+ * are saved in JDBC-batch-sized chunks with the persistence context flushed and cleared after each.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarketPriceImportServiceImpl implements MarketPriceImportService {
+
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    private static final String MARKET_ID = "market_id";
+    private static final String CROP_TYPE = "crop_type";
+    private static final String UNIT = "unit";
+    private static final String PRICE = "price";
+    private static final String PRICE_DATE = "price_date";
+    private static final String QUALITY_GRADE = "quality_grade";
+    private static final String SOURCE = "source";
+    private static final String IS_HIGH_DEMAND = "is_high_demand";
+
+    private final MarketPriceRepository marketPriceRepository;
+    private final MarketRepository marketRepository;
+    private final MarketPriceRollupService rollupService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public MarketPriceImportReport importCsv(InputStream csv) throws IOException {
+        Map<Long, Market> markets = marketRepository.findAll().stream()
+                .collect(Collectors.toMap(Market::getId, Function.identity()));
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        Map<String, Integer> columns = parseHeader(headerLine);
+
+        List<MarketPrice> chunk = new ArrayList<>(batchSize);
+        Map<String, MarketPriceDto> latestPrices = new HashMap<>();
+        List<MarketPriceImportReport.RejectedRow> rejected = new ArrayList<>();
+        long lineNumber = 1;
+        long totalRows = 0;
+        long importedRows = 0;
+        long rejectedRows = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            totalRows++;
+            try {
+                chunk.add(toMarketPrice(splitLine(line), columns, markets));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                rejectedRows++;
+                if (rejected.size() < MAX_REPORTED_REJECTIONS) {
+                    rejected.add(new MarketPriceImportReport.RejectedRow(lineNumber, e.getMessage()));
+                }
+                continue;
+            }
+            if (chunk.size() == batchSize) {
+                importedRows += saveChunk(chunk, latestPrices);
+            }
+        }
+        importedRows += saveChunk(chunk, latestPrices);
+        if (importedRows > 0) {
+            eventPublisher.publishEvent(new MarketPriceChangedEvent("import of " + importedRows + " rows",
+                    List.copyOf(latestPrices.values()), true));
+        }
+
+        log.info("Imported {} of {} market price rows, rejected {}", importedRows, totalRows, rejectedRows);
+        return MarketPriceImportReport.builder()
+                .totalRows(totalRows)
+                .importedRows(importedRows)
+                .rejectedRows(rejectedRows)
+                .rejected(rejected)
+                .build();
+    }
+
+    /**
+     * Save a chunk of market prices as one JDBC batch, merge it into the daily rollup and detach it.
+     *
+     * @param chunk the market prices to save, cleared afterwards
+     * @param latestPrices the latest imported price per crop type and market, updated with the chunk
+     * @return the number of saved market prices
+     */
+    private int saveChunk(List<MarketPrice> chunk, Map<String, MarketPriceDto> latestPrices) {
+        int size = chunk.size();
+        if (size > 0) {
+            marketPriceRepository.saveAll(chunk);
+            rollupService.recordCreated(chunk);
+            for (MarketPrice marketPrice : chunk) {
+                // Later rows win ties, matching the rollup's choice of the last price of a day
+                latestPrices.merge(marketPrice.getCropType() + ":" + marketPrice.getMarket().getId(),
+                        toChangedPrice(marketPrice),
+                        (current, candidate) -> candidate.getPriceDate().isBefore(current.getPriceDate())
+                                ? current : candidate);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            chunk.clear();
+        }
+        return size;
+    }
+
+    private MarketPriceDto toChangedPrice(MarketPrice marketPrice) {
+        return MarketPriceDto.builder()
+                .id(marketPrice.getId())
+                .marketId(marketPrice.getMarket().getId())
+                .marketName(marketPrice.getMarket().getName())
+                .cropType(marketPrice.getCropType().name())
+                .unit(marketPrice.getUnit())
+                .price(marketPrice.getPrice())
+                .location(marketPrice.getLocation())
+                .priceDate(marketPrice.getPriceDate())
+                .qualityGrade(marketPrice.getQualityGrade())
+                .source(marketPrice.getSource())
+                .isHighDemand(marketPrice.getIsHighDemand())
+                .build();
+    }
+
+    private MarketPrice toMarketPrice(List<String> values, Map<String, Integer> columns, Map<Long, Market> markets) {
+        String marketId = required(values, columns, MARKET_ID);
+        Market market;
+        try {
+            market = markets.get(Long.parseLong(marketId));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid market_id: " + marketId);
+        }
+        if (market == null) {
+            throw new IllegalArgumentException("Market not found with id: " + marketId);
+        }
+
+        String cropType = required(values, columns, CROP_TYPE);
+        Farmer.CropType parsedCropType;
+        try {
+            parsedCropType = Farmer.CropType.valueOf(cropType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid crop type: " + cropType);
+        }
+
+        String price = required(values, columns, PRICE);
+        BigDecimal parsedPrice;
+        try {
+            parsedPrice = new BigDecimal(price);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price: " + price);
+        }
+        if (parsedPrice.signum() <= 0) {
+            throw new IllegalArgumentException("Price must be positive");
+        }
+
+        String isHighDemand = optional(values, columns, IS_HIGH_DEMAND);
+        return MarketPrice.builder()
+                .market(market)
+                .cropType(parsedCropType)
+                .unit(required(values, columns, UNIT))
+                .price(parsedPrice)
+                .location(LocationNormalizer.normalize(market.getLocation()))
+                .priceDate(LocalDate.parse(required(values, columns, PRICE_DATE)))
+                .qualityGrade(optional(values, columns, QUALITY_GRADE))
+                .source(optional(values, columns, SOURCE))
+                .isHighDemand(isHighDemand != null ? Boolean.valueOf(isHighDemand) : null)
+                .build();
+    }
+
+    private Map<String, Integer> parseHeader(String headerLine) {
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitLine(headerLine);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(), i);
+        }
+        for (String column : List.of(MARKET_ID, CROP_TYPE, UNIT, PRICE, PRICE_DATE)) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + column);
+            }
+        }
+        return columns;
+    }
+
+    private String required(List<String> values, Map<String, Integer> columns, String column) {
+        String value = optional(values, columns, column);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + column);
+        }
+        return value;
+    }
+
+    private String optional(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Split a CSV line into values, honouring double-quoted values with escaped quotes.
+     *
+     * @param line the CSV line
+     * @return the values
+     */
+    private List<String> splitLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,90 @@
+package com.bfpc.service.impl;
+
+import com.bfpc.domain.entity.Farmer;
+import com.bfpc.domain.entity.MarketPrice;
+import com.bfpc.repository.MarketPriceDailyRollupRepository;
+import com.bfpc.service.MarketPriceRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementation of the MarketPriceRollupService interface.
+ * Rollup writes join the caller's transaction, so the rollup commits together with the raw prices.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarketPriceRollupServiceImpl implements MarketPriceRollupService {
+
+    private final MarketPriceDailyRollupRepository rollupRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<MarketPrice> marketPrices) {
+        Map<RollupKey, DailyAggregate> aggregates = new LinkedHashMap<>();
+        for (MarketPrice marketPrice : marketPrices) {
+            RollupKey key = new RollupKey(marketPrice.getCropType(), marketPrice.getMarket().getId(),
+                    marketPrice.getPriceDate());
+            aggregates.computeIfAbsent(key, k -> new DailyAggregate()).add(marketPrice);
+        }
+        aggregates.forEach((key, aggregate) -> rollupRepository.upsert(
+                key.cropType().name(), key.marketId(), key.priceDate(),
+                aggregate.count, aggregate.sum, aggregate.min, aggregate.max, aggregate.lastPrice, aggregate.lastPriceId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recompute(Farmer.CropType cropType, Long marketId, LocalDate priceDate) {
+        rollupRepository.deleteByKey(cropType.name(), marketId, priceDate);
+        rollupRepository.insertFromPrices(cropType.name(), marketId, priceDate);
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        rollupRepository.deleteAllRows();
+        int rows = rollupRepository.insertAllFromPrices();
+        log.info("Rebuilt market price daily rollup with {} rows", rows);
+        return rows;
+    }
+
+    /**
+     * Key of a rollup row.
+     */
+    private record RollupKey(Farmer.CropType cropType, Long marketId, LocalDate priceDate) {
+    }
+
+    /**
+     * Running aggregate of the new prices of one rollup row.
+     */
+    private static class DailyAggregate {
+
+        private long count;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private BigDecimal min;
+        private BigDecimal max;
+        private BigDecimal lastPrice;
+        private Long lastPriceId;
+
+        private void add(MarketPrice marketPrice) {
+            BigDecimal price = marketPrice.getPrice();
+            count++;
+            sum = sum.add(price);
+            min = min == null || price.compareTo(min) < 0 ? price : min;
+            max = max == null || price.compareTo(max) > 0 ? price : max;
+            if (lastPriceId == null || marketPrice.getId() > lastPriceId) {
+                lastPrice = price;
+                lastPriceId = marketPrice.getId();
+            }
+        }
+    }
+}
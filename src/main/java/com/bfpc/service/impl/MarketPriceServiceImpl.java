@@ -4,23 +4,35 @@ import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.Market;
 import com.bfpc.domain.entity.MarketPrice;
 import com.bfpc.dto.MarketPriceDto;
+import com.bfpc.dto.MarketPriceSummaryDto;
+import com.bfpc.dto.MarketPriceTrendDto;
+import com.bfpc.dto.MarketPriceTrendPointDto;
 import com.bfpc.exception.ResourceNotFoundException;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.repository.MarketPriceDailyRollupRepository;
 import com.bfpc.repository.MarketPriceRepository;
+import com.bfpc.repository.MarketPriceWeeklyAggregate;
 import com.bfpc.repository.MarketRepository;
+import com.bfpc.service.LocationNormalizer;
+import com.bfpc.service.MarketPriceChangedEvent;
+import com.bfpc.service.MarketPriceRollupService;
 import com.bfpc.service.MarketPriceService;
+import jakarta.persistence.criteria.JoinType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the MarketPriceService interface.
@@ -29,12 +41,27 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MarketPriceServiceImpl implements MarketPriceService {
 
+    private static final Sort.Order KEYSET_ORDER = Sort.Order.desc("priceDate");
+
     private final MarketPriceRepository marketPriceRepository;
     private final MarketRepository marketRepository;
+    private final MarketPriceDailyRollupRepository rollupRepository;
+    private final MarketPriceRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Page<MarketPriceDto> getAllMarketPrices(Pageable pageable) {
-        return marketPriceRepository.findAllByOrderByDateDesc(pageable)
+        return marketPriceRepository.findAllByOrderByPriceDateDescIdDesc(pageable)
+                .map(this::convertToDto);
+    }
+
+    @Override
+    public KeysetSlice<MarketPriceDto> getAllMarketPrices(String cursor, int size) {
+        Specification<MarketPrice> withMarket = (root, query, cb) -> {
+            root.fetch("market", JoinType.LEFT);
+            return null;
+        };
+        return marketPriceRepository.findSlice(withMarket, KEYSET_ORDER, cursor, size)
                 .map(this::convertToDto);
     }
 
@@ -48,8 +75,12 @@ public class MarketPriceServiceImpl implements MarketPriceService {
     @Override
     @Transactional
     public MarketPriceDto createMarketPrice(MarketPriceDto marketPriceDto) {
-        MarketPrice marketPrice = convertToEntity(marketPriceDto);
-        return convertToDto(marketPriceRepository.save(marketPrice));
+        MarketPrice marketPrice = marketPriceRepository.save(convertToEntity(marketPriceDto));
+        rollupService.recordCreated(List.of(marketPrice));
+        MarketPriceDto created = convertToDto(marketPrice);
+        eventPublisher.publishEvent(
+                new MarketPriceChangedEvent("create " + marketPrice.getId(), List.of(created), false));
+        return created;
     }
 
     @Override
@@ -57,96 +88,257 @@ public class MarketPriceServiceImpl implements MarketPriceService {
     public MarketPriceDto updateMarketPrice(Long id, MarketPriceDto marketPriceDto) {
         MarketPrice existingMarketPrice = marketPriceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Market price not found with id: " + id));
+        Farmer.CropType previousCropType = existingMarketPrice.getCropType();
+        LocalDate previousPriceDate = existingMarketPrice.getPriceDate();
 
         // Update fields
-        existingMarketPrice.setCropType(Farmer.CropType.valueOf(marketPriceDto.getCropType()));
+        existingMarketPrice.setCropType(parseCropType(marketPriceDto.getCropType()));
         existingMarketPrice.setUnit(marketPriceDto.getUnit());
         existingMarketPrice.setPrice(marketPriceDto.getPrice());
-        existingMarketPrice.setLocation(marketPriceDto.getLocation());
+        existingMarketPrice.setLocation(resolveLocation(marketPriceDto, existingMarketPrice.getMarket()));
         existingMarketPrice.setPriceDate(marketPriceDto.getPriceDate());
         existingMarketPrice.setQualityGrade(marketPriceDto.getQualityGrade());
         existingMarketPrice.setSource(marketPriceDto.getSource());
         existingMarketPrice.setPercentageChange(marketPriceDto.getPercentageChange());
         existingMarketPrice.setIsHighDemand(marketPriceDto.getIsHighDemand());
 
-        return convertToDto(marketPriceRepository.save(existingMarketPrice));
+        MarketPrice updatedMarketPrice = marketPriceRepository.saveAndFlush(existingMarketPrice);
+
+        // Recompute the rollup rows the price left and joined
+        Long marketId = updatedMarketPrice.getMarket().getId();
+        rollupService.recompute(previousCropType, marketId, previousPriceDate);
+        if (previousCropType != updatedMarketPrice.getCropType()
+                || !previousPriceDate.equals(updatedMarketPrice.getPriceDate())) {
+            rollupService.recompute(updatedMarketPrice.getCropType(), marketId, updatedMarketPrice.getPriceDate());
+        }
+        MarketPriceDto updated = convertToDto(updatedMarketPrice);
+        eventPublisher.publishEvent(new MarketPriceChangedEvent("update " + id, List.of(updated), false));
+        return updated;
     }
 
     @Override
     @Transactional
     public void deleteMarketPrice(Long id) {
-        if (!marketPriceRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Market price not found with id: " + id);
-        }
-        marketPriceRepository.deleteById(id);
+        MarketPrice marketPrice = marketPriceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Market price not found with id: " + id));
+        marketPriceRepository.delete(marketPrice);
+        marketPriceRepository.flush();
+        rollupService.recompute(marketPrice.getCropType(), marketPrice.getMarket().getId(), marketPrice.getPriceDate());
+        eventPublisher.publishEvent(new MarketPriceChangedEvent("delete " + id, List.of(), false));
     }
 
     @Override
     public Page<MarketPriceDto> getMarketPricesByCropType(String cropType, Pageable pageable) {
-        return marketPriceRepository.findByCropTypeIgnoreCaseOrderByDateDesc(cropType, pageable)
+        return marketPriceRepository.findByCropTypeOrderByPriceDateDescIdDesc(parseCropType(cropType), pageable)
                 .map(this::convertToDto);
     }
 
     @Override
     public Page<MarketPriceDto> getMarketPricesByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
-        return marketPriceRepository.findByDateBetween(startDate, endDate, pageable)
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        return marketPriceRepository.findByPriceDateBetweenOrderByPriceDateDescIdDesc(startDate, endDate, pageable)
                 .map(this::convertToDto);
     }
 
     @Override
     public Page<MarketPriceDto> getMarketPricesByLocation(String location, Pageable pageable) {
-        return marketPriceRepository.findByLocationIgnoreCase(location, pageable)
+        return marketPriceRepository.findByLocationOrderByPriceDateDescIdDesc(
+                        LocationNormalizer.normalize(location), pageable)
                 .map(this::convertToDto);
     }
 
     @Override
-    public Object getMarketPriceTrends(String cropType, Integer months) {
+    @Transactional(readOnly = true)
+    public List<MarketPriceTrendDto> getMarketPriceTrends(String cropType, Long marketId, Integer months, Integer points) {
+        if (months == null || months < 1) {
+            throw new IllegalArgumentException("Months must be at least 1");
+        }
+        if (points != null && points < 2) {
+            throw new IllegalArgumentException("Points must be at least 2");
+        }
+        String cropTypeName = cropTypeName(cropType);
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minus(months, ChronoUnit.MONTHS);
 
-        List<MarketPrice> marketPrices;
-        if (cropType != null && !cropType.isEmpty()) {
-            marketPrices = marketPriceRepository.findByCropTypeIgnoreCaseAndDateBetweenOrderByDateAsc(
-                    cropType, startDate, endDate);
-        } else {
-            marketPrices = marketPriceRepository.findByDateBetween(startDate, endDate, Pageable.unpaged())
-                    .getContent();
+        // Rows arrive ordered by crop type, market and week, so each series is a contiguous run
+        List<MarketPriceTrendDto> trends = new ArrayList<>();
+        MarketPriceTrendDto current = null;
+        for (MarketPriceWeeklyAggregate week : rollupRepository.findWeeklyAggregates(
+                cropTypeName, marketId, startDate, endDate)) {
+            if (current == null || !current.getCropType().equals(week.getCropType())
+                    || !current.getMarketId().equals(week.getMarketId())) {
+                current = MarketPriceTrendDto.builder()
+                        .cropType(week.getCropType())
+                        .marketId(week.getMarketId())
+                        .marketName(week.getMarketName())
+                        .points(new ArrayList<>())
+                        .build();
+                trends.add(current);
+            }
+            current.getPoints().add(MarketPriceTrendPointDto.builder()
+                    .periodStart(week.getWeekStart())
+                    .minPrice(week.getMinPrice())
+                    .maxPrice(week.getMaxPrice())
+                    .avgPrice(week.getAvgPrice())
+                    .lastPrice(week.getLastPrice())
+                    .percentageChange(week.getPercentageChange())
+                    .sampleCount(week.getSampleCount())
+                    .build());
         }
 
-        // Group by crop type and calculate trends
-        Map<String, List<MarketPriceDto>> groupedByCropType = marketPrices.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.groupingBy(MarketPriceDto::getCropType));
-
-        Map<String, Object> result = new HashMap<>();
-        for (Map.Entry<String, List<MarketPriceDto>> entry : groupedByCropType.entrySet()) {
-            String crop = entry.getKey();
-            List<MarketPriceDto> prices = entry.getValue();
-
-            // Sort by date
-            prices.sort((p1, p2) -> p1.getDate().compareTo(p2.getDate()));
-
-            // Calculate trend
-            if (prices.size() >= 2) {
-                MarketPriceDto oldest = prices.get(0);
-                MarketPriceDto newest = prices.get(prices.size() - 1);
-
-                if (newest.getPricePerKg().compareTo(oldest.getPricePerKg()) > 0) {
-                    result.put(crop + "_trend", "up");
-                } else if (newest.getPricePerKg().compareTo(oldest.getPricePerKg()) < 0) {
-                    result.put(crop + "_trend", "down");
-                } else {
-                    result.put(crop + "_trend", "stable");
-                }
-            } else {
-                result.put(crop + "_trend", "stable");
+        for (MarketPriceTrendDto trend : trends) {
+            if (points != null && trend.getPoints().size() > points) {
+                trend.setPoints(downsample(trend.getPoints(), points));
             }
+            BigDecimal first = trend.getPoints().get(0).getLastPrice();
+            BigDecimal last = trend.getPoints().get(trend.getPoints().size() - 1).getLastPrice();
+            BigDecimal change = percentageChange(first, last);
+            trend.setPercentageChange(trend.getPoints().size() >= 2 ? change : null);
+            trend.setTrend(change == null || change.signum() == 0 || trend.getPoints().size() < 2 ? "stable"
+                    : change.signum() > 0 ? "up" : "down");
+        }
+        return trends;
+    }
 
-            // Add prices data
-            result.put(crop + "_prices", prices);
+    @Override
+    @Transactional(readOnly = true)
+    public List<MarketPriceSummaryDto> getMarketPriceSummaries(String cropType, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
         }
+        return rollupRepository.findSummaries(cropTypeName(cropType), startDate, endDate).stream()
+                .map(summary -> MarketPriceSummaryDto.builder()
+                        .cropType(summary.getCropType())
+                        .marketId(summary.getMarketId())
+                        .marketName(summary.getMarketName())
+                        .sampleCount(summary.getSampleCount())
+                        .avgPrice(summary.getAvgPrice())
+                        .minPrice(summary.getMinPrice())
+                        .maxPrice(summary.getMaxPrice())
+                        .lastPrice(summary.getLastPrice())
+                        .lastPriceDate(summary.getLastPriceDate())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MarketPriceDto> findLatestMarketPrices() {
+        List<Long> ids = rollupRepository.findLatestPriceIds();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return marketPriceRepository.findAllWithMarketByIdIn(ids).stream()
+                .map(this::convertToDto)
+                .toList();
+    }
+
+    @Override
+    public int rebuildRollup() {
+        return rollupService.rebuild();
+    }
 
-        return result;
+    /**
+     * Validate an optional crop type filter.
+     *
+     * @param cropType the crop type, or null or empty for all crop types
+     * @return the crop type name, or null for all crop types
+     */
+    private String cropTypeName(String cropType) {
+        if (cropType == null || cropType.isEmpty()) {
+            return null;
+        }
+        return parseCropType(cropType).name();
+    }
+
+    /**
+     * Parse a crop type, ignoring case.
+     *
+     * @param cropType the crop type
+     * @return the crop type
+     */
+    private Farmer.CropType parseCropType(String cropType) {
+        try {
+            return Farmer.CropType.valueOf(cropType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid crop type: " + cropType);
+        }
+    }
+
+    /**
+     * Resolve the normalized location of a market price, defaulting to the location of its market.
+     *
+     * @param marketPriceDto the market price DTO
+     * @param market the market of the price
+     * @return the normalized location
+     */
+    private String resolveLocation(MarketPriceDto marketPriceDto, Market market) {
+        String location = LocationNormalizer.normalize(marketPriceDto.getLocation());
+        if (location == null && market != null) {
+            location = LocationNormalizer.normalize(market.getLocation());
+        }
+        if (location == null) {
+            throw new IllegalArgumentException("Location is required when no market is given");
+        }
+        return location;
+    }
+
+    /**
+     * Merge consecutive weekly points into at most the requested number of points.
+     *
+     * @param weeks the weekly points, in order
+     * @param points the maximum number of points
+     * @return the merged points, in order
+     */
+    private List<MarketPriceTrendPointDto> downsample(List<MarketPriceTrendPointDto> weeks, int points) {
+        List<MarketPriceTrendPointDto> merged = new ArrayList<>(points);
+        BigDecimal previousLast = null;
+        for (int bucket = 0; bucket < points; bucket++) {
+            int from = bucket * weeks.size() / points;
+            int to = (bucket + 1) * weeks.size() / points;
+            if (from == to) {
+                continue;
+            }
+            List<MarketPriceTrendPointDto> group = weeks.subList(from, to);
+            long samples = 0;
+            BigDecimal weightedSum = BigDecimal.ZERO;
+            BigDecimal min = null;
+            BigDecimal max = null;
+            for (MarketPriceTrendPointDto week : group) {
+                samples += week.getSampleCount();
+                weightedSum = weightedSum.add(week.getAvgPrice().multiply(BigDecimal.valueOf(week.getSampleCount())));
+                min = min == null || week.getMinPrice().compareTo(min) < 0 ? week.getMinPrice() : min;
+                max = max == null || week.getMaxPrice().compareTo(max) > 0 ? week.getMaxPrice() : max;
+            }
+            BigDecimal last = group.get(group.size() - 1).getLastPrice();
+            merged.add(MarketPriceTrendPointDto.builder()
+                    .periodStart(group.get(0).getPeriodStart())
+                    .minPrice(min)
+                    .maxPrice(max)
+                    .avgPrice(weightedSum.divide(BigDecimal.valueOf(samples), 2, RoundingMode.HALF_UP))
+                    .lastPrice(last)
+                    .percentageChange(percentageChange(previousLast, last))
+                    .sampleCount(samples)
+                    .build());
+            previousLast = last;
+        }
+        return merged;
+    }
+
+    /**
+     * Calculate the percentage change between two prices.
+     *
+     * @param from the earlier price
+     * @param to the later price
+     * @return the change in percent rounded to two decimals, or null if there is no earlier price
+     */
+    private BigDecimal percentageChange(BigDecimal from, BigDecimal to) {
+        if (from == null || to == null || from.signum() == 0) {
+            return null;
+        }
+        return to.subtract(from).multiply(BigDecimal.valueOf(100)).divide(from, 2, RoundingMode.HALF_UP);
     }
 
     /**
@@ -189,10 +381,9 @@ public class MarketPriceServiceImpl implements MarketPriceService {
     private MarketPrice convertToEntity(MarketPriceDto marketPriceDto) {
         MarketPrice marketPrice = MarketPrice.builder()
                 .id(marketPriceDto.getId())
-                .cropType(Farmer.CropType.valueOf(marketPriceDto.getCropType()))
+                .cropType(parseCropType(marketPriceDto.getCropType()))
                 .unit(marketPriceDto.getUnit())
                 .price(marketPriceDto.getPrice())
-                .location(marketPriceDto.getLocation())
                 .priceDate(marketPriceDto.getPriceDate())
                 .qualityGrade(marketPriceDto.getQualityGrade())
                 .source(marketPriceDto.getSource())
@@ -205,6 +396,7 @@ public class MarketPriceServiceImpl implements MarketPriceService {
                     .orElseThrow(() -> new ResourceNotFoundException("Market not found with id: " + marketPriceDto.getMarketId()));
             marketPrice.setMarket(market);
         }
+        marketPrice.setLocation(resolveLocation(marketPriceDto, marketPrice.getMarket()));
         
         return marketPrice;
     }
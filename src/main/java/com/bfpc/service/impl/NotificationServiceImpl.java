@@ -2,30 +2,54 @@ package com.bfpc.service.impl;
 
 import com.bfpc.dto.NotificationDto;
 import com.bfpc.service.NotificationService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 
 @Service
-@RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
-    private final List<NotificationDto> notifications = initializeNotifications();
+    // Notifications per user, oldest first; alerts are added concurrently from background threads.
+    // Each user keeps at most maxPerUser notifications, and expired ones are purged periodically.
+    private final Map<String, Deque<NotificationDto>> notifications = new ConcurrentHashMap<>();
+    private final int maxPerUser;
+    private final long retentionMillis;
+
+    public NotificationServiceImpl(
+            @Value("${bfpc.notifications.max-per-user:100}") int maxPerUser,
+            @Value("${bfpc.notifications.retention:2592000000}") long retentionMillis
+    ) {
+        this.maxPerUser = maxPerUser;
+        this.retentionMillis = retentionMillis;
+        initializeNotifications().forEach(this::add);
+    }
 
     @Override
     public List<NotificationDto> getUserNotifications(String userId) {
-        return notifications.stream()
-                .filter(n -> n.getUserId().equals(userId))
+        Deque<NotificationDto> userNotifications = notifications.get(userId);
+        if (userNotifications == null) {
+            return List.of();
+        }
+        LocalDateTime expiry = expiry();
+        return userNotifications.stream()
+                .filter(n -> n.getTimestamp().isAfter(expiry))
                 .toList();
     }
 
     @Override
     public void markAsRead(String notificationId) {
-        notifications.stream()
+        notifications.values().stream()
+                .flatMap(Deque::stream)
                 .filter(n -> n.getId().equals(notificationId))
                 .findFirst()
                 .ifPresent(notification -> notification.setRead(true));
@@ -33,14 +57,16 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     public void markAllAsRead(String userId) {
-        notifications.stream()
-                .filter(n -> n.getUserId().equals(userId))
-                .forEach(notification -> notification.setRead(true));
+        Deque<NotificationDto> userNotifications = notifications.get(userId);
+        if (userNotifications != null) {
+            userNotifications.forEach(notification -> notification.setRead(true));
+        }
     }
 
     @Override
     public void deleteNotification(String notificationId) {
-        notifications.removeIf(n -> n.getId().equals(notificationId));
+        notifications.values().forEach(userNotifications ->
+                userNotifications.removeIf(n -> n.getId().equals(notificationId)));
     }
 
     @Override
@@ -48,10 +74,39 @@ public class NotificationServiceImpl implements NotificationService {
         notificationDto.setId(UUID.randomUUID().toString());
         notificationDto.setTimestamp(LocalDateTime.now());
         notificationDto.setRead(false);
-        notifications.add(notificationDto);
+        add(notificationDto);
         return notificationDto;
     }
 
+    @Scheduled(fixedDelayString = "${bfpc.notifications.purge-interval:3600000}")
+    public void purgeExpired() {
+        LocalDateTime expiry = expiry();
+        // Per-key updates are atomic with add, so a user's notifications are never dropped while added
+        for (String userId : notifications.keySet()) {
+            notifications.computeIfPresent(userId, (id, userNotifications) -> {
+                userNotifications.removeIf(n -> !n.getTimestamp().isAfter(expiry));
+                return userNotifications.isEmpty() ? null : userNotifications;
+            });
+        }
+    }
+
+    private void add(NotificationDto notification) {
+        notifications.compute(notification.getUserId(), (userId, userNotifications) -> {
+            Deque<NotificationDto> updated = userNotifications != null
+                    ? userNotifications
+                    : new ConcurrentLinkedDeque<>();
+            updated.addLast(notification);
+            while (updated.size() > maxPerUser) {
+                updated.pollFirst();
+            }
+            return updated;
+        });
+    }
+
+    private LocalDateTime expiry() {
+        return LocalDateTime.now().minus(retentionMillis, ChronoUnit.MILLIS);
+    }
+
     private List<NotificationDto> initializeNotifications() {
         List<NotificationDto> initialNotifications = new ArrayList<>();
         
@@ -62,13 +117,6 @@ public class NotificationServiceImpl implements NotificationService {
                 "/events/event-1", "📚"
         ));
         
-        initialNotifications.add(new NotificationDto(
-                "notif-2", "current-user", "Market Price Alert",
-                "Rice prices have increased by 15% in Makurdi market",
-                "success", false, LocalDateTime.now().minusHours(4),
-                "/dashboard", "📈"
-        ));
-        
         return initialNotifications;
     }
 }
\ No newline at end of file
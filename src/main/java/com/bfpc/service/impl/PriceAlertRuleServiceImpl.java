@@ -0,0 +1,148 @@
+package com.bfpc.service.impl;
+
+import com.bfpc.domain.entity.Farmer;
+import com.bfpc.domain.entity.Market;
+import com.bfpc.domain.entity.PriceAlertRule;
+import com.bfpc.domain.repository.UserRepository;
+import com.bfpc.dto.PriceAlertRuleDto;
+import com.bfpc.exception.ResourceNotFoundException;
+import com.bfpc.repository.MarketRepository;
+import com.bfpc.repository.PriceAlertRuleRepository;
+import com.bfpc.service.LocationNormalizer;
+import com.bfpc.service.PriceAlertEngine;
+import com.bfpc.service.PriceAlertRuleChangedEvent;
+import com.bfpc.service.PriceAlertRuleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementation of the PriceAlertRuleService interface.
+ * Every write publishes a {@link PriceAlertRuleChangedEvent}, so the alert index follows after commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class PriceAlertRuleServiceImpl implements PriceAlertRuleService {
+
+    private final PriceAlertRuleRepository ruleRepository;
+    private final UserRepository userRepository;
+    private final MarketRepository marketRepository;
+    private final PriceAlertEngine priceAlertEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PriceAlertRuleDto> getRules(Long userId) {
+        return ruleRepository.findAllWithMarketByUserId(userId).stream()
+                .map(this::convertToDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PriceAlertRuleDto getRule(Long userId, Long id) {
+        return convertToDto(findRule(userId, id));
+    }
+
+    @Override
+    @Transactional
+    public PriceAlertRuleDto createRule(Long userId, PriceAlertRuleDto ruleDto) {
+        PriceAlertRule rule = PriceAlertRule.builder()
+                .user(userRepository.getReferenceById(userId))
+                .build();
+        apply(ruleDto, rule);
+        PriceAlertRule savedRule = ruleRepository.save(rule);
+        eventPublisher.publishEvent(new PriceAlertRuleChangedEvent(savedRule.getId(), savedRule));
+        return convertToDto(savedRule);
+    }
+
+    @Override
+    @Transactional
+    public PriceAlertRuleDto updateRule(Long userId, Long id, PriceAlertRuleDto ruleDto) {
+        PriceAlertRule rule = findRule(userId, id);
+        apply(ruleDto, rule);
+        PriceAlertRule savedRule = ruleRepository.save(rule);
+        eventPublisher.publishEvent(new PriceAlertRuleChangedEvent(savedRule.getId(), savedRule));
+        return convertToDto(savedRule);
+    }
+
+    @Override
+    @Transactional
+    public void deleteRule(Long userId, Long id) {
+        ruleRepository.delete(findRule(userId, id));
+        eventPublisher.publishEvent(new PriceAlertRuleChangedEvent(id, null));
+    }
+
+    private PriceAlertRule findRule(Long userId, Long id) {
+        return ruleRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Price alert rule not found with id: " + id));
+    }
+
+    /**
+     * Validate a rule DTO and copy it onto an entity.
+     *
+     * @param ruleDto the rule DTO
+     * @param rule the entity to update
+     */
+    private void apply(PriceAlertRuleDto ruleDto, PriceAlertRule rule) {
+        Farmer.CropType cropType;
+        try {
+            cropType = Farmer.CropType.valueOf(ruleDto.getCropType().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid crop type: " + ruleDto.getCropType());
+        }
+        PriceAlertRule.AlertType alertType;
+        try {
+            alertType = PriceAlertRule.AlertType.valueOf(ruleDto.getAlertType().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid alert type: " + ruleDto.getAlertType());
+        }
+
+        Integer windowDays = null;
+        if (alertType == PriceAlertRule.AlertType.CHANGE_ABOVE || alertType == PriceAlertRule.AlertType.CHANGE_BELOW) {
+            windowDays = ruleDto.getWindowDays();
+            if (windowDays == null || windowDays < 1 || windowDays > priceAlertEngine.getHistoryDays()) {
+                throw new IllegalArgumentException(
+                        "Window days must be between 1 and " + priceAlertEngine.getHistoryDays() + " for change alerts");
+            }
+        }
+
+        Market market = null;
+        if (ruleDto.getMarketId() != null) {
+            market = marketRepository.findById(ruleDto.getMarketId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Market not found with id: " + ruleDto.getMarketId()));
+        }
+
+        rule.setCropType(cropType);
+        rule.setMarket(market);
+        rule.setLocation(market == null ? LocationNormalizer.normalize(ruleDto.getLocation()) : null);
+        rule.setAlertType(alertType);
+        rule.setThreshold(ruleDto.getThreshold());
+        rule.setWindowDays(windowDays);
+        rule.setActive(ruleDto.getActive() == null || ruleDto.getActive());
+    }
+
+    /**
+     * Convert a PriceAlertRule entity to a PriceAlertRuleDto.
+     *
+     * @param rule the PriceAlertRule entity
+     * @return the PriceAlertRuleDto
+     */
+    private PriceAlertRuleDto convertToDto(PriceAlertRule rule) {
+        return PriceAlertRuleDto.builder()
+                .id(rule.getId())
+                .userId(rule.getUser().getId())
+                .cropType(rule.getCropType().name())
+                .marketId(rule.getMarket() != null ? rule.getMarket().getId() : null)
+                .marketName(rule.getMarket() != null ? rule.getMarket().getName() : null)
+                .location(rule.getLocation())
+                .alertType(rule.getAlertType().name())
+                .threshold(rule.getThreshold())
+                .windowDays(rule.getWindowDays())
+                .active(rule.isActive())
+                .build();
+    }
+}
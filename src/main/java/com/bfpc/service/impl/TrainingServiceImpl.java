@@ -2,22 +2,31 @@ package com.bfpc.service.impl;
 
 import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.Training;
-import com.bfpc.domain.entity.User;
+import com.bfpc.domain.entity.TrainingRegistrationRequest;
+import com.bfpc.domain.repository.FarmerRepository;
 import com.bfpc.dto.TrainingDto;
+import com.bfpc.dto.TrainingRegistrationDto;
 import com.bfpc.dto.UserDto;
+import com.bfpc.exception.ConflictException;
 import com.bfpc.exception.ResourceNotFoundException;
-import com.bfpc.repository.FarmerRepository;
+import com.bfpc.repository.KeysetSlice;
+import com.bfpc.repository.PageTotal;
+import com.bfpc.repository.TrainingRegistrationRequestRepository;
 import com.bfpc.repository.TrainingRepository;
-import com.bfpc.repository.UserRepository;
+import com.bfpc.service.TrainingSeatReleasedEvent;
 import com.bfpc.service.TrainingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -30,13 +39,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TrainingServiceImpl implements TrainingService {
 
+    private static final Sort.Order KEYSET_ORDER = Sort.Order.desc("startDateTime");
+    private static final String ALREADY_WAITING = "Farmer is already on the waitlist for this training";
+
     private final TrainingRepository trainingRepository;
     private final FarmerRepository farmerRepository;
-    private final UserRepository userRepository;
+    private final TrainingRegistrationRequestRepository requestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Slice<TrainingDto> getAllTrainings(Pageable pageable, PageTotal total) {
+        return trainingRepository.findAll(null, pageable, total)
+                .map(this::convertToDto);
+    }
 
     @Override
-    public Page<TrainingDto> getAllTrainings(Pageable pageable) {
-        return trainingRepository.findAll(pageable)
+    public KeysetSlice<TrainingDto> getAllTrainings(String cursor, int size) {
+        return trainingRepository.findSlice(null, KEYSET_ORDER, cursor, size)
                 .map(this::convertToDto);
     }
 
@@ -121,89 +140,90 @@ public class TrainingServiceImpl implements TrainingService {
 
     @Override
     @Transactional
-    public TrainingDto registerFarmerForTraining(Long trainingId, Long farmerId) {
-        Training training = trainingRepository.findById(trainingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Training not found with id: " + trainingId));
-
-        Farmer farmer = farmerRepository.findById(farmerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Farmer not found with id: " + farmerId));
-
-        // Check if training is at capacity
-        if (training.getCapacity() != null && training.getAttendees().size() >= training.getCapacity()) {
-            throw new IllegalStateException("Training is at full capacity");
+    public TrainingRegistrationDto requestRegistration(Long trainingId, Long farmerId) {
+        if (!trainingRepository.existsById(trainingId)) {
+            throw new ResourceNotFoundException("Training not found with id: " + trainingId);
         }
-
-        // Check if farmer is already registered
-        if (training.getAttendees().contains(farmer)) {
-            throw new IllegalStateException("Farmer is already registered for this training");
+        if (!farmerRepository.existsById(farmerId)) {
+            throw new ResourceNotFoundException("Farmer not found with id: " + farmerId);
+        }
+        if (trainingRepository.isAttendee(trainingId, farmerId)) {
+            throw new ConflictException("Farmer is already registered for this training");
+        }
+        if (requestRepository.existsByTrainingIdAndFarmerIdAndStatus(
+                trainingId, farmerId, TrainingRegistrationRequest.Status.WAITING)) {
+            throw new ConflictException(ALREADY_WAITING);
         }
 
-        // Register farmer
-        training.getAttendees().add(farmer);
-
-        // Update farmer's training sessions attended count
-        farmer.setTrainingSessionsAttended(farmer.getTrainingSessionsAttended() + 1);
-        farmerRepository.save(farmer);
+        // A concurrent request of the same farmer can pass the check; the unique index on waiting requests
+        // rejects it, flushed here so the violation surfaces as the same conflict
+        try {
+            TrainingRegistrationRequest request = requestRepository.saveAndFlush(TrainingRegistrationRequest.builder()
+                    .training(trainingRepository.getReferenceById(trainingId))
+                    .farmer(farmerRepository.getReferenceById(farmerId))
+                    .status(TrainingRegistrationRequest.Status.WAITING)
+                    .build());
+            return toRequestDto(request, trainingId, farmerId);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException(ALREADY_WAITING, e);
+        }
+    }
 
-        return convertToDto(trainingRepository.save(training));
+    @Override
+    @Transactional(readOnly = true)
+    public TrainingRegistrationDto getRegistrationRequest(Long trainingId, Long requestId) {
+        TrainingRegistrationRequest request = requestRepository.findByIdAndTrainingId(requestId, trainingId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Registration request not found with id: " + requestId));
+        return toRequestDto(request, trainingId, request.getFarmer().getId());
     }
 
     @Override
     @Transactional
-    public TrainingDto cancelTrainingRegistration(Long trainingId, Long farmerId) {
-        Training training = trainingRepository.findById(trainingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Training not found with id: " + trainingId));
-
-        Farmer farmer = farmerRepository.findById(farmerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Farmer not found with id: " + farmerId));
-
-        // Check if farmer is registered
-        if (!training.getAttendees().contains(farmer)) {
-            throw new IllegalStateException("Farmer is not registered for this training");
+    public TrainingRegistrationDto cancelTrainingRegistration(Long trainingId, Long farmerId) {
+        if (trainingRepository.deleteAttendee(trainingId, farmerId) == 0) {
+            if (requestRepository.updateStatus(trainingId, farmerId, TrainingRegistrationRequest.Status.WAITING,
+                    TrainingRegistrationRequest.Status.CANCELLED, LocalDateTime.now()) > 0) {
+                return toRegistrationDto(trainingId, farmerId, TrainingRegistrationRequest.Status.CANCELLED);
+            }
+            if (!trainingRepository.existsById(trainingId)) {
+                throw new ResourceNotFoundException("Training not found with id: " + trainingId);
+            }
+            if (!farmerRepository.existsById(farmerId)) {
+                throw new ResourceNotFoundException("Farmer not found with id: " + farmerId);
+            }
+            throw new ConflictException("Farmer is not registered for this training");
         }
 
-        // Cancel registration
-        training.getAttendees().remove(farmer);
+        trainingRepository.releaseSeat(trainingId);
+        farmerRepository.decrementTrainingSessionsAttended(farmerId);
+        eventPublisher.publishEvent(new TrainingSeatReleasedEvent(trainingId));
 
-        // Update farmer's training sessions attended count
-        if (farmer.getTrainingSessionsAttended() > 0) {
-            farmer.setTrainingSessionsAttended(farmer.getTrainingSessionsAttended() - 1);
-            farmerRepository.save(farmer);
-        }
-
-        return convertToDto(trainingRepository.save(training));
+        return toRegistrationDto(trainingId, farmerId, TrainingRegistrationRequest.Status.CANCELLED);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<UserDto> getRegisteredFarmers(Long trainingId, Pageable pageable) {
-        Training training = trainingRepository.findById(trainingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Training not found with id: " + trainingId));
-
-        // Get all farmers registered for this training
-        List<Farmer> attendees = new ArrayList<>(training.getAttendees());
-
-        // Convert to UserDto and paginate manually
-        List<UserDto> userDtos = attendees.stream()
-                .map(farmer -> {
-                    User user = userRepository.findById(farmer.getUser().getId())
-                            .orElseThrow(() -> new ResourceNotFoundException("User not found for farmer"));
-                    return UserDto.builder()
-                            .id(user.getId())
-                            .username(user.getUsername())
-                            .email(user.getEmail())
-                            .firstName(user.getFirstName())
-                            .lastName(user.getLastName())
-                            .role(user.getRole().name())
-                            .build();
-                })
-                .collect(Collectors.toList());
-
-        // Manual pagination
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), userDtos.size());
-        List<UserDto> pageContent = userDtos.subList(start, end);
+        if (!trainingRepository.existsById(trainingId)) {
+            throw new ResourceNotFoundException("Training not found with id: " + trainingId);
+        }
 
-        return new org.springframework.data.domain.PageImpl<>(pageContent, pageable, userDtos.size());
+        // The query fixes the order, so only the page position of the request is used
+        Pageable page = pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+                : Pageable.unpaged();
+        return trainingRepository.findAttendeesByTrainingId(trainingId, page)
+                .map(attendee -> UserDto.builder()
+                        .id(attendee.getId())
+                        .firstName(attendee.getFirstName())
+                        .lastName(attendee.getLastName())
+                        .email(attendee.getEmail())
+                        .phoneNumber(attendee.getPhoneNumber())
+                        .userType(attendee.getUserType().name())
+                        .profileImageUrl(attendee.getProfileImageUrl())
+                        .localGovernmentArea(attendee.getLocalGovernmentArea())
+                        .build());
     }
 
     @Override
@@ -216,6 +236,49 @@ public class TrainingServiceImpl implements TrainingService {
                 .map(this::convertToDto);
     }
 
+    /**
+     * Build the registration outcome from the seats of a training, as updated by this transaction.
+     *
+     * @param trainingId the training ID
+     * @param farmerId the farmer ID
+     * @param status the registration status
+     * @return the TrainingRegistrationDto
+     */
+    private TrainingRegistrationDto toRegistrationDto(Long trainingId, Long farmerId,
+                                                      TrainingRegistrationRequest.Status status) {
+        Training training = trainingRepository.findById(trainingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Training not found with id: " + trainingId));
+        return TrainingRegistrationDto.builder()
+                .trainingId(trainingId)
+                .farmerId(farmerId)
+                .registeredCount(training.getRegisteredCount())
+                .capacity(training.getCapacity())
+                .status(status.name())
+                .build();
+    }
+
+    /**
+     * Convert a registration request to a TrainingRegistrationDto, with its waitlist position while waiting.
+     *
+     * @param request the registration request
+     * @param trainingId the training ID
+     * @param farmerId the farmer ID
+     * @return the TrainingRegistrationDto
+     */
+    private TrainingRegistrationDto toRequestDto(TrainingRegistrationRequest request, Long trainingId, Long farmerId) {
+        Long position = request.getStatus() == TrainingRegistrationRequest.Status.WAITING
+                ? requestRepository.countByTrainingIdAndStatusAndIdLessThan(
+                        trainingId, TrainingRegistrationRequest.Status.WAITING, request.getId()) + 1
+                : null;
+        return TrainingRegistrationDto.builder()
+                .requestId(request.getId())
+                .trainingId(trainingId)
+                .farmerId(farmerId)
+                .status(request.getStatus().name())
+                .waitlistPosition(position)
+                .build();
+    }
+
     /**
      * Convert a Training entity to a TrainingDto.
      *
@@ -244,6 +307,7 @@ public class TrainingServiceImpl implements TrainingService {
                 .contactPerson(training.getContactPerson())
                 .contactPhone(training.getContactPhone())
                 .capacity(training.getCapacity())
+                .registeredCount(training.getRegisteredCount())
                 .isActive(training.getIsActive())
                 .trainingMaterials(training.getTrainingMaterials())
                 .cropFocus(cropFocusStrings)
@@ -294,6 +358,7 @@ public class TrainingServiceImpl implements TrainingService {
         } else {
             training.setAttendees(new HashSet<>());
         }
+        training.setRegisteredCount(training.getAttendees().size());
 
         return training;
     }
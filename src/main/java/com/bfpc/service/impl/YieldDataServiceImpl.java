@@ -2,14 +2,17 @@ package com.bfpc.service.impl;
 
 import com.bfpc.domain.entity.Farmer;
 import com.bfpc.domain.entity.YieldData;
+import com.bfpc.domain.repository.FarmerRepository;
 import com.bfpc.exception.ResourceNotFoundException;
-import com.bfpc.repository.FarmerRepository;
+import com.bfpc.repository.KeysetSlice;
 import com.bfpc.repository.YieldDataRepository;
 import com.bfpc.service.YieldDataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +26,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class YieldDataServiceImpl implements YieldDataService {
 
+    private static final Sort.Order KEYSET_ORDER = Sort.Order.desc("harvestDate");
+
     private final YieldDataRepository yieldDataRepository;
     private final FarmerRepository farmerRepository;
 
@@ -100,6 +105,13 @@ public class YieldDataServiceImpl implements YieldDataService {
         return yieldDataRepository.findByFarmerId(farmerId, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetSlice<YieldData> getYieldDataByFarmerId(Long farmerId, String cursor, int size) {
+        Specification<YieldData> ofFarmer = (root, query, cb) -> cb.equal(root.get("farmer").get("id"), farmerId);
+        return yieldDataRepository.findSlice(ofFarmer, KEYSET_ORDER, cursor, size);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<YieldData> getYieldDataByCropType(String cropType, Pageable pageable) {
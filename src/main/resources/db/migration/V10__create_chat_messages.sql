@@ -0,0 +1,24 @@
+-- Chat messages, hash-partitioned by chat so the history of a chat lives in one of several smaller tables
+CREATE TABLE chat_messages (
+    id            UUID          NOT NULL,
+    chat_id       VARCHAR(255)  NOT NULL,
+    sender_id     VARCHAR(255)  NOT NULL,
+    sender_name   VARCHAR(255),
+    sender_avatar VARCHAR(255),
+    content       VARCHAR(4000) NOT NULL,
+    type          VARCHAR(255)  NOT NULL,
+    sent_at       TIMESTAMP     NOT NULL,
+    PRIMARY KEY (chat_id, id)
+) PARTITION BY HASH (chat_id);
+
+CREATE TABLE chat_messages_p0 PARTITION OF chat_messages FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+CREATE TABLE chat_messages_p1 PARTITION OF chat_messages FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+CREATE TABLE chat_messages_p2 PARTITION OF chat_messages FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+CREATE TABLE chat_messages_p3 PARTITION OF chat_messages FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+CREATE TABLE chat_messages_p4 PARTITION OF chat_messages FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+CREATE TABLE chat_messages_p5 PARTITION OF chat_messages FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+CREATE TABLE chat_messages_p6 PARTITION OF chat_messages FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+CREATE TABLE chat_messages_p7 PARTITION OF chat_messages FOR VALUES WITH (MODULUS 8, REMAINDER 7);
+
+-- Newest-first pages of a chat are a backward range scan of this index
+CREATE INDEX idx_chat_messages_chat_sent_at_id ON chat_messages (chat_id, sent_at, id);
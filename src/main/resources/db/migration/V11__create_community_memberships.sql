@@ -0,0 +1,12 @@
+-- Community memberships, loaded into memory on startup and written through on join and leave
+CREATE SEQUENCE IF NOT EXISTS community_memberships_seq INCREMENT BY 50;
+
+CREATE TABLE community_memberships (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    community_id VARCHAR(255) NOT NULL,
+    user_id      VARCHAR(255) NOT NULL,
+    joined_at    TIMESTAMP    NOT NULL,
+    CONSTRAINT uk_community_memberships UNIQUE (community_id, user_id)
+);
+
+CREATE INDEX idx_community_memberships_user ON community_memberships (user_id);
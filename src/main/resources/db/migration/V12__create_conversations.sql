@@ -0,0 +1,24 @@
+-- Registry of direct conversations, with IDs derived from the sorted participant pair
+CREATE TABLE conversations (
+    id         VARCHAR(255) NOT NULL PRIMARY KEY,
+    type       VARCHAR(20)  NOT NULL,
+    created_at TIMESTAMP    NOT NULL
+);
+
+-- Per-user conversation index: the inbox is a range scan of (user_id, last_message_at, id)
+CREATE SEQUENCE IF NOT EXISTS conversation_participants_seq INCREMENT BY 50;
+
+CREATE TABLE conversation_participants (
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    conversation_id VARCHAR(255) NOT NULL REFERENCES conversations (id),
+    user_id         VARCHAR(255) NOT NULL,
+    peer_id         VARCHAR(255) NOT NULL,
+    last_message_at TIMESTAMP    NOT NULL,
+    unread_count    INTEGER      NOT NULL DEFAULT 0,
+    last_read_at    TIMESTAMP,
+    CONSTRAINT uk_conversation_participants UNIQUE (conversation_id, user_id),
+    CONSTRAINT ck_conversation_participants_unread CHECK (unread_count >= 0)
+);
+
+CREATE INDEX idx_conversation_participants_inbox
+    ON conversation_participants (user_id, last_message_at DESC, id DESC);
@@ -0,0 +1,2 @@
+-- Tokens issued to a user before this time are rejected by the stateless JWT filter
+ALTER TABLE users ADD COLUMN tokens_revoked_at TIMESTAMP;
@@ -0,0 +1,51 @@
+-- Switch ID generation from IDENTITY columns to sequences, so Hibernate can batch inserts.
+-- Sequences increment by the allocation size of the entities; with the pooled-lo optimizer the
+-- value returned by nextval is the first ID of a block of 50.
+
+CREATE SEQUENCE IF NOT EXISTS buyers_seq INCREMENT BY 50;
+SELECT setval('buyers_seq', COALESCE((SELECT MAX(id) FROM buyers), 0) + 1, false);
+ALTER TABLE buyers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS conferences_seq INCREMENT BY 50;
+SELECT setval('conferences_seq', COALESCE((SELECT MAX(id) FROM conferences), 0) + 1, false);
+ALTER TABLE conferences ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS cooperatives_seq INCREMENT BY 50;
+SELECT setval('cooperatives_seq', COALESCE((SELECT MAX(id) FROM cooperatives), 0) + 1, false);
+ALTER TABLE cooperatives ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS farmers_seq INCREMENT BY 50;
+SELECT setval('farmers_seq', COALESCE((SELECT MAX(id) FROM farmers), 0) + 1, false);
+ALTER TABLE farmers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS market_prices_seq INCREMENT BY 50;
+SELECT setval('market_prices_seq', COALESCE((SELECT MAX(id) FROM market_prices), 0) + 1, false);
+ALTER TABLE market_prices ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS markets_seq INCREMENT BY 50;
+SELECT setval('markets_seq', COALESCE((SELECT MAX(id) FROM markets), 0) + 1, false);
+ALTER TABLE markets ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS partners_seq INCREMENT BY 50;
+SELECT setval('partners_seq', COALESCE((SELECT MAX(id) FROM partners), 0) + 1, false);
+ALTER TABLE partners ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS roles_seq INCREMENT BY 50;
+SELECT setval('roles_seq', COALESCE((SELECT MAX(id) FROM roles), 0) + 1, false);
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS trainings_seq INCREMENT BY 50;
+SELECT setval('trainings_seq', COALESCE((SELECT MAX(id) FROM trainings), 0) + 1, false);
+ALTER TABLE trainings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq INCREMENT BY 50;
+SELECT setval('transactions_seq', COALESCE((SELECT MAX(id) FROM transactions), 0) + 1, false);
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS yield_data_seq INCREMENT BY 50;
+SELECT setval('yield_data_seq', COALESCE((SELECT MAX(id) FROM yield_data), 0) + 1, false);
+ALTER TABLE yield_data ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,27 @@
+-- Daily aggregate of market prices per crop type and market, maintained incrementally by the application
+CREATE SEQUENCE IF NOT EXISTS market_price_daily_rollup_seq INCREMENT BY 50;
+
+CREATE TABLE market_price_daily_rollup (
+    id            BIGINT         NOT NULL PRIMARY KEY,
+    crop_type     VARCHAR(255)   NOT NULL,
+    market_id     BIGINT         NOT NULL REFERENCES markets (id),
+    price_date    DATE           NOT NULL,
+    sample_count  BIGINT         NOT NULL,
+    price_sum     NUMERIC(38, 2) NOT NULL,
+    min_price     NUMERIC(38, 2) NOT NULL,
+    max_price     NUMERIC(38, 2) NOT NULL,
+    last_price    NUMERIC(38, 2) NOT NULL,
+    last_price_id BIGINT         NOT NULL,
+    updated_at    TIMESTAMP      NOT NULL,
+    CONSTRAINT uk_market_price_daily_rollup_key UNIQUE (crop_type, market_id, price_date)
+);
+
+CREATE INDEX idx_market_price_daily_rollup_date ON market_price_daily_rollup (price_date);
+
+-- Backfill from existing prices
+INSERT INTO market_price_daily_rollup (id, crop_type, market_id, price_date, sample_count, price_sum,
+                                       min_price, max_price, last_price, last_price_id, updated_at)
+SELECT nextval('market_price_daily_rollup_seq'), crop_type, market_id, price_date, COUNT(*), SUM(price),
+       MIN(price), MAX(price), (ARRAY_AGG(price ORDER BY id DESC))[1], MAX(id), now()
+FROM market_prices
+GROUP BY crop_type, market_id, price_date;
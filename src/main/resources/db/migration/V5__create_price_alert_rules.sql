@@ -0,0 +1,18 @@
+-- User-defined market price alerts, evaluated in memory by the application on every price write
+CREATE SEQUENCE IF NOT EXISTS price_alert_rules_seq INCREMENT BY 50;
+
+CREATE TABLE price_alert_rules (
+    id          BIGINT         NOT NULL PRIMARY KEY,
+    user_id     BIGINT         NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    crop_type   VARCHAR(255)   NOT NULL,
+    market_id   BIGINT         REFERENCES markets (id) ON DELETE CASCADE,
+    location    VARCHAR(255),
+    alert_type  VARCHAR(255)   NOT NULL,
+    threshold   NUMERIC(38, 2) NOT NULL,
+    window_days INTEGER,
+    active      BOOLEAN        NOT NULL,
+    created_at  TIMESTAMP      NOT NULL,
+    updated_at  TIMESTAMP      NOT NULL
+);
+
+CREATE INDEX idx_price_alert_rules_user ON price_alert_rules (user_id);
@@ -0,0 +1,14 @@
+-- Normalized location of each market price (trimmed, single-spaced, lower case), taken from its market
+ALTER TABLE market_prices ADD COLUMN location VARCHAR(255);
+
+UPDATE market_prices mp
+SET location = lower(regexp_replace(btrim(m.location), '\s+', ' ', 'g'))
+FROM markets m
+WHERE m.id = mp.market_id;
+
+ALTER TABLE market_prices ALTER COLUMN location SET NOT NULL;
+
+-- Indexes matching the market price listings, which filter on one column and sort newest first, then by ID
+CREATE INDEX idx_market_prices_crop_type_date ON market_prices (crop_type, price_date DESC, id DESC);
+CREATE INDEX idx_market_prices_market_crop_type_date ON market_prices (market_id, crop_type, price_date DESC);
+CREATE INDEX idx_market_prices_location_date ON market_prices (location, price_date DESC, id DESC);
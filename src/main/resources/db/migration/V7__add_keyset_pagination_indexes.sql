@@ -0,0 +1,5 @@
+-- Indexes matching the keyset orderings (sort key, then ID), so every slice is a single index range scan
+CREATE INDEX idx_market_prices_date_id ON market_prices (price_date, id);
+CREATE INDEX idx_transactions_created_at_id ON transactions (created_at, id);
+CREATE INDEX idx_trainings_start_date_time_id ON trainings (start_date_time, id);
+CREATE INDEX idx_yield_data_farmer_harvest_date_id ON yield_data (farmer_id, harvest_date, id);
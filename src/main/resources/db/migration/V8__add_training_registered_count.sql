@@ -0,0 +1,15 @@
+-- Registrations reserve a seat with a conditional update of the counter instead of counting attendees
+ALTER TABLE trainings ADD COLUMN registered_count INTEGER NOT NULL DEFAULT 0;
+UPDATE trainings t SET registered_count = (SELECT COUNT(*) FROM training_attendees a WHERE a.training_id = t.id);
+ALTER TABLE trainings ADD CONSTRAINT chk_trainings_registered_count CHECK (registered_count >= 0);
+
+-- Registering twice must hit a unique constraint, so concurrent duplicate registrations cannot both insert
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'training_attendees'::regclass AND contype IN ('p', 'u')) THEN
+        DELETE FROM training_attendees a USING training_attendees b
+        WHERE a.ctid < b.ctid AND a.training_id = b.training_id AND a.farmer_id = b.farmer_id;
+        ALTER TABLE training_attendees ADD CONSTRAINT training_attendees_pkey PRIMARY KEY (training_id, farmer_id);
+    END IF;
+END $$;
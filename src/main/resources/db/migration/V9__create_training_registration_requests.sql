@@ -0,0 +1,18 @@
+-- Waitlist of training registrations, seated in arrival order by the background allocator
+-- IDs give the arrival order, so they are drawn one at a time rather than in blocks per instance
+CREATE SEQUENCE IF NOT EXISTS training_registration_requests_seq INCREMENT BY 1;
+
+CREATE TABLE training_registration_requests (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    training_id BIGINT       NOT NULL REFERENCES trainings (id) ON DELETE CASCADE,
+    farmer_id   BIGINT       NOT NULL REFERENCES farmers (id) ON DELETE CASCADE,
+    status      VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP    NOT NULL,
+    updated_at  TIMESTAMP    NOT NULL
+);
+
+-- Allocation and waitlist positions only ever scan the waiting requests of one training
+CREATE INDEX idx_training_registration_requests_waiting
+    ON training_registration_requests (training_id, id) WHERE status = 'WAITING';
+CREATE UNIQUE INDEX uk_training_registration_requests_waiting
+    ON training_registration_requests (training_id, farmer_id) WHERE status = 'WAITING';
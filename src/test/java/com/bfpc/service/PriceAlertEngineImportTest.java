@@ -0,0 +1,109 @@
+package com.bfpc.service;
+
+import com.bfpc.dto.NotificationDto;
+import com.bfpc.dto.PriceAlertRuleDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Price alerts raised by CSV imports, against PostgreSQL.
+ * An import reloads the in-memory prices from the daily rollup, which already holds the imported prices;
+ * a rule must still fire once when the imported price crosses its threshold.
+ * The schema is generated from the entities, since the migrations expect an existing base schema.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class PriceAlertEngineImportTest {
+
+    private static final long USER_ID = 1L;
+    private static final long MARKET_ID = 1L;
+    private static final String CSV_HEADER = "market_id,crop_type,unit,price,price_date\n";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private MarketPriceImportService importService;
+
+    @Autowired
+    private PriceAlertRuleService ruleService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createUserAndMarket() {
+        jdbcTemplate.update("DELETE FROM price_alert_rules");
+        jdbcTemplate.update("DELETE FROM market_price_daily_rollup");
+        jdbcTemplate.update("DELETE FROM market_prices");
+        jdbcTemplate.update("DELETE FROM markets");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("""
+                INSERT INTO users (id, first_name, last_name, email, password, phone_number, user_type, enabled,
+                                   account_non_locked, account_non_expired, credentials_non_expired,
+                                   created_at, updated_at)
+                VALUES (?, 'Farmer', 'Test', 'farmer@example.com', 'password', '+2341', 'FARMER', true, true, true,
+                        true, now(), now())
+                """, USER_ID);
+        jdbcTemplate.update("""
+                INSERT INTO markets (id, name, location, created_at, updated_at)
+                VALUES (?, 'Wurukum', 'Makurdi', now(), now())
+                """, MARKET_ID);
+    }
+
+    @Test
+    void importCrossingThresholdNotifiesOnce() throws Exception {
+        ruleService.createRule(USER_ID, PriceAlertRuleDto.builder()
+                .cropType("RICE")
+                .marketId(MARKET_ID)
+                .alertType("PRICE_ABOVE")
+                .threshold(new BigDecimal("100"))
+                .build());
+        LocalDate today = LocalDate.now();
+
+        importCsv(CSV_HEADER + MARKET_ID + ",RICE,kg,90," + today.minusDays(1) + "\n");
+        importCsv(CSV_HEADER
+                + MARKET_ID + ",RICE,kg,95," + today + "\n"
+                + MARKET_ID + ",RICE,kg,120," + today + "\n");
+
+        // Notifications are delivered in the background
+        String userId = String.valueOf(USER_ID);
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<NotificationDto> notifications = notificationService.getUserNotifications(userId);
+        while (notifications.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            notifications = notificationService.getUserNotifications(userId);
+        }
+        Thread.sleep(500);
+
+        assertThat(notificationService.getUserNotifications(userId))
+                .singleElement()
+                .satisfies(notification -> assertThat(notification.getMessage()).contains("120"));
+    }
+
+    private void importCsv(String csv) throws Exception {
+        importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
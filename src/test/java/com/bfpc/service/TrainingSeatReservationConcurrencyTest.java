@@ -0,0 +1,120 @@
+package com.bfpc.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test of training seat reservation against PostgreSQL.
+ * Many more farmers than seats reserve at the same time; the conditional counter update must seat
+ * exactly as many farmers as the training has capacity.
+ * The schema is generated from the entities, since the migrations expect an existing base schema.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class TrainingSeatReservationConcurrencyTest {
+
+    private static final long TRAINING_ID = 1L;
+    private static final int CAPACITY = 20;
+    private static final int FARMERS = CAPACITY * 5;
+    private static final int THREADS = 32;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private TrainingSeatReservation seatReservation;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createTrainingAndFarmers() {
+        jdbcTemplate.update("DELETE FROM training_attendees");
+        jdbcTemplate.update("DELETE FROM trainings");
+        jdbcTemplate.update("DELETE FROM farmers");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("""
+                INSERT INTO users (id, first_name, last_name, email, password, phone_number, user_type, enabled,
+                                   account_non_locked, account_non_expired, credentials_non_expired,
+                                   created_at, updated_at)
+                SELECT g, 'Farmer', 'Test' || g, 'farmer' || g || '@example.com', 'password', '+234' || g,
+                       'FARMER', true, true, true, true, now(), now()
+                FROM generate_series(1, ?) g
+                """, FARMERS);
+        jdbcTemplate.update("""
+                INSERT INTO farmers (id, user_id, training_sessions_attended, created_at, updated_at)
+                SELECT g, g, 0, now(), now() FROM generate_series(1, ?) g
+                """, FARMERS);
+        jdbcTemplate.update("""
+                INSERT INTO trainings (id, title, start_date_time, end_date_time, location, capacity,
+                                       registered_count, is_active, created_at, updated_at)
+                VALUES (?, 'Seat reservation', now() + interval '1 day', now() + interval '2 days', 'Makurdi',
+                        ?, 0, true, now(), now())
+                """, TRAINING_ID, CAPACITY);
+    }
+
+    @Test
+    void concurrentReservationsNeverExceedCapacity() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> reservations = new ArrayList<>();
+            for (long farmerId = 1; farmerId <= FARMERS; farmerId++) {
+                long id = farmerId;
+                reservations.add(executor.submit(() -> {
+                    start.await();
+                    TrainingSeatReservation.Result result =
+                            transactionTemplate.execute(status -> seatReservation.reserve(TRAINING_ID, id));
+                    (result == TrainingSeatReservation.Result.RESERVED ? reserved : full).incrementAndGet();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> reservation : reservations) {
+                reservation.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(reserved).hasValue(CAPACITY);
+        assertThat(full).hasValue(FARMERS - CAPACITY);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT registered_count FROM trainings WHERE id = ?", Integer.class, TRAINING_ID))
+                .isEqualTo(CAPACITY);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM training_attendees WHERE training_id = ?", Integer.class, TRAINING_ID))
+                .isEqualTo(CAPACITY);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(training_sessions_attended) FROM farmers", Integer.class))
+                .isEqualTo(CAPACITY);
+    }
+}